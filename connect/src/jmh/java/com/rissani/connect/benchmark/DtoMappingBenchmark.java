@@ -0,0 +1,60 @@
+package com.rissani.connect.benchmark;
+
+import com.rissani.connect.dto.EventResponse;
+import com.rissani.connect.dto.UserResponse;
+import com.rissani.connect.entity.Event;
+import com.rissani.connect.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion entité -> DTO sur des événements à forte affluence : la liste des participants
+ * d'un événement, et l'événement lui-même (ids des participants).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DtoMappingBenchmark {
+
+    @Param({"10", "1000", "10000"})
+    public int participants;
+
+    private List<User> users;
+    private Event event;
+
+    @Setup
+    public void setUp() {
+        users = Fixtures.users(participants);
+        event = Fixtures.event(0, users);
+    }
+
+    @Benchmark
+    public List<UserResponse> userResponses() {
+        List<UserResponse> responses = new ArrayList<>(users.size());
+        for (User user : users) {
+            responses.add(UserResponse.fromEntity(user));
+        }
+        return responses;
+    }
+
+    @Benchmark
+    public EventResponse eventResponse() {
+        return EventResponse.fromEntity(event);
+    }
+}
@@ -0,0 +1,57 @@
+package com.rissani.connect.benchmark;
+
+import com.rissani.connect.entity.Event;
+import com.rissani.connect.entity.User;
+import com.rissani.connect.entity.UuidV7;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Données en mémoire des benchmarks, proches de celles de l'annuaire (sans base).
+ */
+final class Fixtures {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 15, 10, 0);
+
+    private Fixtures() {
+    }
+
+    static User user(int i) {
+        return User.builder()
+                .id(UuidV7.nextString())
+                .nom("Nom" + i).prenom("Prenom" + i).email("alumni" + i + "@rissani.com")
+                .numTelephone("06" + String.format("%08d", i)).password("x")
+                .role(i % 50 == 0 ? User.Role.ADMIN : User.Role.USER)
+                .sexe(i % 2 == 0 ? User.Sexe.HOMME : User.Sexe.FEMME)
+                .anneeBac(2000 + i % 24).filiereBac("Sciences Mathématiques")
+                .statut(i % 3 == 0 ? User.Statut.ETUDIANT : User.Statut.EMPLOYE)
+                .specialite("Génie informatique")
+                .createdAt(NOW.minusDays(i))
+                .build();
+    }
+
+    static List<User> users(int count) {
+        List<User> users = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            users.add(user(i));
+        }
+        return users;
+    }
+
+    static Event event(int i, List<User> participants) {
+        return Event.builder()
+                .id(UuidV7.nextString())
+                .titre("Forum des métiers " + i)
+                .description("Rencontre entre lauréats et élèves du lycée de Rissani autour des filières "
+                        + "et des débouchés, suivie d'un atelier d'orientation.")
+                .date(NOW.plusDays(i)).lieu("Rissani")
+                .type(Event.TypeEvent.values()[i % Event.TypeEvent.values().length])
+                .capacite(participants.size() + 100)
+                .participants(participants)
+                .createdBy(participants.isEmpty() ? user(-1) : participants.get(0))
+                .createdAt(NOW)
+                .build();
+    }
+}
@@ -0,0 +1,88 @@
+package com.rissani.connect.benchmark;
+
+import com.rissani.connect.entity.User;
+import com.rissani.connect.security.JwtService;
+import com.rissani.connect.security.VerifiedToken;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.io.Decoders;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import javax.crypto.SecretKey;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Émission d'un token à la connexion, et vérification faite par JwtAuthenticationFilter à chaque requête,
+ * comparée à l'ancien chemin du filtre (clé et parser reconstruits, trois parsings).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private static final String SECRET = "monCleSecreteTresLonguePourJWTQuiDoitEtreSecurisee123456789";
+
+    private JwtService jwtService;
+    private User user;
+    private String token;
+    private String tamperedToken;
+
+    @Setup
+    public void setUp() {
+        jwtService = new JwtService(SECRET, 86_400_000L, new SimpleMeterRegistry());
+        user = Fixtures.user(1);
+        token = jwtService.generateToken(user);
+        tamperedToken = token.substring(0, token.length() - 2) + "xx";
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(user);
+    }
+
+    @Benchmark
+    public Optional<VerifiedToken> verifyValid() {
+        return jwtService.verify(token);
+    }
+
+    // Signature invalide : chemin des requêtes rejetées
+    @Benchmark
+    public Optional<VerifiedToken> verifyTampered() {
+        return jwtService.verify(tamperedToken);
+    }
+
+    @Benchmark
+    public boolean isTokenValid() {
+        return jwtService.isTokenValid(token, user);
+    }
+
+    // Ancien filtre : extractUsername puis isTokenValid (extractUsername + extractExpiration)
+    @Benchmark
+    public boolean legacyFilterPath() {
+        String subject = legacyClaims(token).getSubject();
+        boolean sameUser = legacyClaims(token).getSubject().equals(user.getUsername());
+        Date expiration = legacyClaims(token).getExpiration();
+        return subject != null && sameUser && !expiration.before(new Date());
+    }
+
+    private static Claims legacyClaims(String token) {
+        SecretKey key = Keys.hmacShaKeyFor(Decoders.BASE64.decode(SECRET));
+        return Jwts.parser().verifyWith(key).build().parseSignedClaims(token).getPayload();
+    }
+}
@@ -0,0 +1,128 @@
+package com.rissani.connect.benchmark;
+
+import com.rissani.connect.entity.BinaryUuidJavaType;
+import com.rissani.connect.entity.UuidV7;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Débit d'insertion (lignes/s) selon la clé : UUID v4 en VARCHAR(36) contre UUID v7 en BINARY(16), avec un
+ * index secondaire (created_at, id) et une table de jointure. Les tables grossissent d'une itération à
+ * l'autre, comme en production. Par défaut sur H2 fichier ; pour les vrais chiffres InnoDB :
+ * -Djmh.args="PrimaryKeyLayout -jvmArgsAppend -Dbenchmark.jdbc-url=jdbc:mysql://... -Dbenchmark.user=..."
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PrimaryKeyLayoutBenchmark {
+
+    private static final int BATCH = 1_000;
+
+    @Param({"v4", "v7"})
+    public String layout;
+
+    private Path dir;
+    private Connection connection;
+    private PreparedStatement user;
+    private PreparedStatement participant;
+    private String table;
+    private Object[] events;
+    private int row;
+
+    @Setup
+    public void setUp() throws Exception {
+        dir = Files.createTempDirectory("pk-layout");
+        connection = DriverManager.getConnection(
+                System.getProperty("benchmark.jdbc-url", "jdbc:h2:file:" + dir.resolve("keys")),
+                System.getProperty("benchmark.user", "sa"), System.getProperty("benchmark.password", ""));
+        table = "bench_" + layout;
+        String keyType = v7() ? "BINARY(16)" : "VARCHAR(36)";
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS " + table + "_participants");
+            ddl.execute("DROP TABLE IF EXISTS " + table);
+            ddl.execute("CREATE TABLE " + table + " (id " + keyType + " NOT NULL PRIMARY KEY, "
+                    + "created_at TIMESTAMP(6) NOT NULL, nom VARCHAR(255) NOT NULL)");
+            ddl.execute("CREATE INDEX " + table + "_created_at_id ON " + table + " (created_at, id)");
+            ddl.execute("CREATE TABLE " + table + "_participants (event_id " + keyType + " NOT NULL, "
+                    + "user_id " + keyType + " NOT NULL, CONSTRAINT " + table + "_uk UNIQUE (event_id, user_id))");
+            ddl.execute("CREATE INDEX " + table + "_user ON " + table + "_participants (user_id)");
+        }
+        // Les participations visent 100 événements : le cas réel de event_participants
+        events = new Object[100];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = key();
+        }
+        connection.setAutoCommit(false);
+        user = connection.prepareStatement("INSERT INTO " + table + " (id, created_at, nom) VALUES (?, ?, ?)");
+        participant = connection.prepareStatement(
+                "INSERT INTO " + table + "_participants (event_id, user_id) VALUES (?, ?)");
+    }
+
+    @TearDown
+    public void tearDown() throws Exception {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS " + table + "_participants");
+            ddl.execute("DROP TABLE IF EXISTS " + table);
+        }
+        connection.commit();
+        connection.close();
+        try (var files = Files.walk(dir)) {
+            files.sorted((a, b) -> b.compareTo(a)).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    // Un lot d'utilisateurs et de participations, validé comme le fait l'import
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void insertBatch() throws SQLException {
+        for (int i = 0; i < BATCH; i++) {
+            Object id = key();
+            row++;
+            user.setObject(1, id);
+            user.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+            user.setString(3, "Alumni " + row);
+            user.addBatch();
+            participant.setObject(1, events[row % events.length]);
+            participant.setObject(2, id);
+            participant.addBatch();
+        }
+        user.executeBatch();
+        participant.executeBatch();
+        connection.commit();
+    }
+
+    private boolean v7() {
+        return "v7".equals(layout);
+    }
+
+    private Object key() {
+        return v7() ? BinaryUuidJavaType.toBytes(UuidV7.nextString()) : UUID.randomUUID().toString();
+    }
+}
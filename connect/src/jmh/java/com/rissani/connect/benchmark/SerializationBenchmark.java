@@ -0,0 +1,99 @@
+package com.rissani.connect.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import com.rissani.connect.config.JacksonConfig;
+import com.rissani.connect.dto.CursorPageResponse;
+import com.rissani.connect.dto.EventResponse;
+import com.rissani.connect.dto.FieldSelection;
+import com.rissani.connect.dto.UserResponse;
+import com.rissani.connect.entity.User;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sérialisation JSON des réponses de liste (annuaire paginé, /api/events/all), complètes et réduites
+ * par ?fields= comme le fait MappingJackson2HttpMessageConverter avec MappingJacksonValue.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    // Taille de page de l'annuaire, et nombre d'événements de la liste complète
+    @Param({"24", "100", "1000"})
+    public int size;
+
+    private ObjectWriter fullWriter;
+    private ObjectWriter userCardWriter;
+    private ObjectWriter eventCardWriter;
+    private CursorPageResponse<UserResponse> userPage;
+    private List<EventResponse> events;
+
+    @Setup
+    public void setUp() {
+        // Même configuration que l'ObjectMapper de l'application
+        Jackson2ObjectMapperBuilder builder = new Jackson2ObjectMapperBuilder();
+        new JacksonConfig().fieldFilterDefaults().customize(builder);
+        ObjectMapper mapper = builder.build();
+
+        fullWriter = mapper.writer();
+        userCardWriter = writer(mapper, FieldSelection.parse("nom,prenom,specialite,avatar", UserResponse.FIELDS));
+        eventCardWriter = writer(mapper, FieldSelection.parse("titre,date,lieu,type", EventResponse.FIELDS));
+
+        List<User> users = Fixtures.users(size);
+        userPage = CursorPageResponse.<UserResponse>builder()
+                .content(users.stream().map(UserResponse::fromEntity).toList())
+                .nextCursor("eyJjcmVhdGVkQXQiOiIyMDI0LTAxLTE1VDEwOjAwIn0")
+                .build();
+        events = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            // Une trentaine d'inscrits par événement
+            events.add(EventResponse.fromEntity(Fixtures.event(i, users.subList(0, Math.min(30, size)))));
+        }
+    }
+
+    private static ObjectWriter writer(ObjectMapper mapper, FieldSelection fields) {
+        return mapper.writer(new SimpleFilterProvider()
+                .addFilter(FieldSelection.FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(fields.names())));
+    }
+
+    @Benchmark
+    public byte[] userPageFull() throws Exception {
+        return fullWriter.writeValueAsBytes(userPage);
+    }
+
+    @Benchmark
+    public byte[] userPageSparse() throws Exception {
+        return userCardWriter.writeValueAsBytes(userPage);
+    }
+
+    @Benchmark
+    public byte[] eventListFull() throws Exception {
+        return fullWriter.writeValueAsBytes(events);
+    }
+
+    @Benchmark
+    public byte[] eventListSparse() throws Exception {
+        return eventCardWriter.writeValueAsBytes(events);
+    }
+}
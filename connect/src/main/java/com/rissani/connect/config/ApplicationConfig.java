@@ -1,9 +1,12 @@
 package com.rissani.connect.config;
 
+import com.rissani.connect.entity.User;
 import com.rissani.connect.repository.UserRepository;
+import com.rissani.connect.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
@@ -12,10 +15,23 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 public class ApplicationConfig {
 
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     @Bean
     public UserDetailsService userDetailsService() {
-        return username -> userRepository.findByEmail(username)
+        return username -> principalCache.get(username, userRepository::findByEmail)
                 .orElseThrow(() -> new UsernameNotFoundException("Utilisateur non trouvé"));
     }
+
+    @Bean
+    public UserDetailsPasswordService userDetailsPasswordService() {
+        // L'instance en cache est détachée : on recharge l'entité avant d'écrire le nouveau hachage
+        return (userDetails, newPassword) -> {
+            User cached = (User) userDetails;
+            User user = userRepository.findById(cached.getId())
+                    .orElseThrow(() -> new UsernameNotFoundException("Utilisateur non trouvé"));
+            user.setPassword(newPassword);
+            return userRepository.save(user);
+        };
+    }
 }
@@ -0,0 +1,86 @@
+package com.rissani.connect.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.OptionalLong;
+
+/**
+ * Cache de second niveau Hibernate, activé par app.l2-cache.enabled. Les régions sont des caches
+ * Caffeine en mémoire (JCache), bornées en taille et en durée ; aucune dépendance externe.
+ * Désactivé, on coupe explicitement le cache : sinon Hibernate choisirait seul hibernate-jcache.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // Noms repris dans les @Cache(region = ...) des entités
+    static final String USERS_REGION = "users";
+    static final String EVENTS_REGION = "events";
+    static final String EVENT_PARTICIPANTS_REGION = "events.participants";
+    static final String QUERY_RESULTS_REGION = "default-query-results-region";
+    static final String UPDATE_TIMESTAMPS_REGION = "default-update-timestamps-region";
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(name = "app.l2-cache.enabled", havingValue = "true")
+    public CacheManager hibernateCacheManager(
+            @Value("${app.l2-cache.ttl:10m}") Duration ttl,
+            @Value("${app.l2-cache.users.max-entries:10000}") long maxUsers,
+            @Value("${app.l2-cache.events.max-entries:5000}") long maxEvents,
+            @Value("${app.l2-cache.participants.max-entries:5000}") long maxParticipants,
+            @Value("${app.l2-cache.queries.max-entries:1000}") long maxQueries
+    ) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName())
+                .getCacheManager();
+        cacheManager.createCache(USERS_REGION, region(maxUsers, ttl));
+        cacheManager.createCache(EVENTS_REGION, region(maxEvents, ttl));
+        cacheManager.createCache(EVENT_PARTICIPANTS_REGION, region(maxParticipants, ttl));
+        cacheManager.createCache(QUERY_RESULTS_REGION, region(maxQueries, ttl));
+        // Horodatages des tables : jamais évincés, sans quoi le cache de requêtes servirait des résultats périmés
+        cacheManager.createCache(UPDATE_TIMESTAMPS_REGION, region(-1, null));
+        return cacheManager;
+    }
+
+    private static CaffeineConfiguration<Object, Object> region(long maxEntries, Duration ttl) {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        // Hibernate stocke déjà un état désassemblé et immuable : pas de copie par sérialisation
+        configuration.setStoreByValue(false);
+        configuration.setStatisticsEnabled(true);
+        if (maxEntries > 0) {
+            configuration.setMaximumSize(OptionalLong.of(maxEntries));
+        }
+        if (ttl != null) {
+            configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        }
+        return configuration;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(ObjectProvider<CacheManager> hibernateCacheManager) {
+        return properties -> {
+            CacheManager cacheManager = hibernateCacheManager.getIfAvailable();
+            if (cacheManager == null) {
+                properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, false);
+                properties.put(AvailableSettings.USE_QUERY_CACHE, false);
+                return;
+            }
+            properties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+            properties.put(AvailableSettings.USE_QUERY_CACHE, true);
+            properties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.put(ConfigSettings.CACHE_MANAGER, cacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+            // Statistiques par région (taux de succès) exposées sur /api/admin/cache/regions
+            properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+        };
+    }
+}
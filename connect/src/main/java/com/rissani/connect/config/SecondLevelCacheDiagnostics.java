@@ -0,0 +1,76 @@
+package com.rissani.connect.config;
+
+import com.rissani.connect.dto.CacheRegionStats;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import javax.cache.Cache;
+import javax.cache.CacheManager;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Statistiques par région du cache de second niveau (vide si le cache ou les statistiques sont désactivés).
+ * Exporte aussi chaque région en métriques (cache.gets, cache.puts... tag cache=région).
+ */
+@Component
+@RequiredArgsConstructor
+public class SecondLevelCacheDiagnostics implements MeterBinder {
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final ObjectProvider<CacheManager> hibernateCacheManager;
+
+    public List<CacheRegionStats> stats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        if (!statistics.isStatisticsEnabled()) {
+            return List.of();
+        }
+        return Arrays.stream(statistics.getSecondLevelCacheRegionNames())
+                .sorted()
+                .map(name -> toStats(name, statistics.getCacheRegionStatistics(name)))
+                .toList();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CacheManager cacheManager = hibernateCacheManager.getIfAvailable();
+        if (cacheManager == null) {
+            return;
+        }
+        // Statistiques JCache (MBean), activées par région dans SecondLevelCacheConfig
+        for (String region : cacheManager.getCacheNames()) {
+            JCacheMetrics.monitor(registry, cacheManager.getCache(region));
+        }
+    }
+
+    private CacheRegionStats toStats(String region, CacheRegionStatistics stats) {
+        long hits = stats == null ? 0 : stats.getHitCount();
+        long misses = stats == null ? 0 : stats.getMissCount();
+        return CacheRegionStats.builder()
+                .region(region)
+                .hits(hits)
+                .misses(misses)
+                .puts(stats == null ? 0 : stats.getPutCount())
+                .hitRatio(hits + misses == 0 ? 0 : (double) hits / (hits + misses))
+                .size(size(region))
+                .build();
+    }
+
+    // L'adaptateur JCache de Hibernate ne compte pas les entrées : on interroge la région Caffeine
+    private long size(String region) {
+        CacheManager cacheManager = hibernateCacheManager.getIfAvailable();
+        Cache<Object, Object> cache = cacheManager == null ? null : cacheManager.getCache(region);
+        if (cache == null) {
+            return 0;
+        }
+        return cache.unwrap(com.github.benmanes.caffeine.cache.Cache.class).estimatedSize();
+    }
+}
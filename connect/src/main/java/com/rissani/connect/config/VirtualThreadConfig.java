@@ -0,0 +1,48 @@
+package com.rissani.connect.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Mode threads virtuels (spring.threads.virtual.enabled=true) : Tomcat et les tâches asynchrones
+ * de Spring passent sur des threads virtuels. On ajoute ici la limite de requêtes simultanées
+ * (alignée sur le pool Hikari) et la détection des épinglages.
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+public class VirtualThreadConfig {
+
+    @Bean
+    public RequestConcurrencyLimitFilter requestConcurrencyLimitFilter(
+            @Value("${app.virtual-threads.max-in-flight:200}") int maxInFlight,
+            @Value("${app.virtual-threads.acquire-timeout:1s}") Duration acquireTimeout,
+            ObjectMapper objectMapper
+    ) {
+        return new RequestConcurrencyLimitFilter(maxInFlight, acquireTimeout, objectMapper);
+    }
+
+    @Bean
+    public FilterRegistrationBean<RequestConcurrencyLimitFilter> requestConcurrencyLimitRegistration(
+            RequestConcurrencyLimitFilter filter
+    ) {
+        // Avant la chaîne Spring Security : une requête refusée ne coûte pas de vérification JWT
+        FilterRegistrationBean<RequestConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "app.virtual-threads.pinning-monitor", havingValue = "true", matchIfMissing = true)
+    public VirtualThreadPinningMonitor virtualThreadPinningMonitor(
+            @Value("${app.virtual-threads.pinning-threshold:20ms}") Duration threshold
+    ) {
+        return new VirtualThreadPinningMonitor(threshold);
+    }
+}
@@ -0,0 +1,48 @@
+package com.rissani.connect.config;
+
+import com.rissani.connect.dto.VirtualThreadStats;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * État du mode d'exécution : limite de requêtes, pool de connexions et épinglages observés.
+ */
+@Component
+@RequiredArgsConstructor
+public class VirtualThreadDiagnostics {
+
+    private final ObjectProvider<RequestConcurrencyLimitFilter> limitFilter;
+    private final ObjectProvider<VirtualThreadPinningMonitor> pinningMonitor;
+    private final DataSource dataSource;
+
+    public VirtualThreadStats stats() {
+        VirtualThreadStats.VirtualThreadStatsBuilder stats = VirtualThreadStats.builder()
+                .enabled(limitFilter.getIfAvailable() != null)
+                .pinnedSites(Map.of());
+
+        RequestConcurrencyLimitFilter filter = limitFilter.getIfAvailable();
+        if (filter != null) {
+            stats.maxInFlight(filter.getMaxInFlight())
+                    .inFlight(filter.getInFlight())
+                    .rejected(filter.getRejected());
+        }
+        VirtualThreadPinningMonitor monitor = pinningMonitor.getIfAvailable();
+        if (monitor != null) {
+            stats.pinnedEvents(monitor.getPinnedEvents())
+                    .pinnedSites(monitor.getPinnedSites());
+        }
+        if (dataSource instanceof HikariDataSource hikari && hikari.getHikariPoolMXBean() != null) {
+            HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+            stats.dbPoolSize(hikari.getMaximumPoolSize())
+                    .dbActiveConnections(pool.getActiveConnections())
+                    .dbThreadsAwaitingConnection(pool.getThreadsAwaitingConnection());
+        }
+        return stats.build();
+    }
+}
@@ -1,16 +1,43 @@
 package com.rissani.connect.controller;
 
+import com.rissani.connect.config.SecondLevelCacheDiagnostics;
+import com.rissani.connect.config.VirtualThreadDiagnostics;
+import com.rissani.connect.dto.AuthRateLimitStats;
+import com.rissani.connect.dto.CacheRegionStats;
+import com.rissani.connect.dto.DashboardStats;
 import com.rissani.connect.dto.EventRequest;
 import com.rissani.connect.dto.EventResponse;
+import com.rissani.connect.dto.LiveUpdateStats;
+import com.rissani.connect.dto.PasswordHashingStats;
+import com.rissani.connect.dto.PrincipalCacheStats;
+import com.rissani.connect.dto.SearchIndexStats;
+import com.rissani.connect.dto.UserImportReport;
 import com.rissani.connect.dto.UserResponse;
+import com.rissani.connect.dto.VirtualThreadStats;
+import com.rissani.connect.live.EventUpdateHub;
+import com.rissani.connect.search.UserSearchIndex;
+import com.rissani.connect.security.AuthRateLimiter;
+import com.rissani.connect.security.BoundedPasswordEncoder;
+import com.rissani.connect.security.PrincipalCache;
 import com.rissani.connect.service.EventService;
+import com.rissani.connect.service.UserExportService;
+import com.rissani.connect.service.UserImportService;
 import com.rissani.connect.service.UserService;
+import com.rissani.connect.stats.DashboardCounters;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 @RestController
@@ -20,7 +47,17 @@ import java.util.List;
 public class AdminController {
 
     private final UserService userService;
+    private final UserExportService userExportService;
+    private final UserImportService userImportService;
     private final EventService eventService;
+    private final PrincipalCache principalCache;
+    private final UserSearchIndex userSearchIndex;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final VirtualThreadDiagnostics virtualThreadDiagnostics;
+    private final AuthRateLimiter authRateLimiter;
+    private final SecondLevelCacheDiagnostics secondLevelCacheDiagnostics;
+    private final DashboardCounters dashboardCounters;
+    private final EventUpdateHub eventUpdateHub;
 
     // ============ USER MANAGEMENT ============
 
@@ -29,6 +66,32 @@ public class AdminController {
         return ResponseEntity.ok(userService.getAllUsers());
     }
 
+    /**
+     * Export complet en flux (NDJSON par défaut, ou CSV) : écrit ligne par ligne, mémoire constante.
+     */
+    @GetMapping("/users/export")
+    public ResponseEntity<StreamingResponseBody> exportUsers(@RequestParam(defaultValue = "ndjson") String format) {
+        UserExportService.Format exportFormat = UserExportService.Format.from(format);
+        StreamingResponseBody body = out -> userExportService.export(exportFormat, out);
+
+        boolean csv = exportFormat == UserExportService.Format.CSV;
+        return ResponseEntity.ok()
+                .contentType(csv ? new MediaType("text", "csv", StandardCharsets.UTF_8) : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(csv ? "alumni.csv" : "alumni.ndjson").build().toString())
+                .body(body);
+    }
+
+    /**
+     * Import en masse depuis un CSV (colonnes de l'export) : les lignes invalides sont listées dans le rapport.
+     */
+    @PostMapping(value = "/users/import", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<UserImportReport> importUsers(@RequestParam("file") MultipartFile file) throws IOException {
+        try (InputStream in = file.getInputStream()) {
+            return ResponseEntity.ok(userImportService.importCsv(in));
+        }
+    }
+
     @GetMapping("/users/{id}")
     public ResponseEntity<UserResponse> getUserById(@PathVariable String id) {
         return ResponseEntity.ok(userService.getUserById(id));
@@ -46,4 +109,51 @@ public class AdminController {
         eventService.deleteEvent(id);
         return ResponseEntity.ok().build();
     }
+
+    // ============ STATS ============
+
+    /**
+     * Statistiques du tableau de bord, lues dans des compteurs en mémoire (aucune requête).
+     */
+    @GetMapping("/stats")
+    public ResponseEntity<DashboardStats> getDashboardStats() {
+        return ResponseEntity.ok(dashboardCounters.snapshot());
+    }
+
+    // ============ CACHE ============
+
+    @GetMapping("/cache/principals")
+    public ResponseEntity<PrincipalCacheStats> getPrincipalCacheStats() {
+        return ResponseEntity.ok(principalCache.stats());
+    }
+
+    @GetMapping("/cache/regions")
+    public ResponseEntity<List<CacheRegionStats>> getCacheRegionStats() {
+        return ResponseEntity.ok(secondLevelCacheDiagnostics.stats());
+    }
+
+    @GetMapping("/password-hashing")
+    public ResponseEntity<PasswordHashingStats> getPasswordHashingStats() {
+        return ResponseEntity.ok(passwordEncoder.stats());
+    }
+
+    @GetMapping("/auth-rate-limit")
+    public ResponseEntity<AuthRateLimitStats> getAuthRateLimitStats() {
+        return ResponseEntity.ok(authRateLimiter.stats());
+    }
+
+    @GetMapping("/virtual-threads")
+    public ResponseEntity<VirtualThreadStats> getVirtualThreadStats() {
+        return ResponseEntity.ok(virtualThreadDiagnostics.stats());
+    }
+
+    @GetMapping("/live-updates")
+    public ResponseEntity<LiveUpdateStats> getLiveUpdateStats() {
+        return ResponseEntity.ok(eventUpdateHub.stats());
+    }
+
+    @GetMapping("/search-index")
+    public ResponseEntity<SearchIndexStats> getSearchIndexStats() {
+        return ResponseEntity.ok(userSearchIndex.stats());
+    }
 }
@@ -3,7 +3,9 @@ package com.rissani.connect.controller;
 import com.rissani.connect.dto.AuthResponse;
 import com.rissani.connect.dto.LoginRequest;
 import com.rissani.connect.dto.RegisterRequest;
+import com.rissani.connect.security.AuthRateLimiter;
 import com.rissani.connect.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
@@ -15,14 +17,20 @@ import org.springframework.web.bind.annotation.*;
 public class AuthController {
 
     private final AuthService authService;
+    private final AuthRateLimiter authRateLimiter;
 
+    // La limite est vérifiée avant toute lecture en base ou tout hachage BCrypt
     @PostMapping("/register")
-    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request) {
+    public ResponseEntity<AuthResponse> register(@Valid @RequestBody RegisterRequest request,
+                                                 HttpServletRequest httpRequest) {
+        authRateLimiter.check(httpRequest.getRemoteAddr(), request.getEmail());
         return ResponseEntity.ok(authService.register(request));
     }
 
     @PostMapping("/login")
-    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request) {
+    public ResponseEntity<AuthResponse> login(@Valid @RequestBody LoginRequest request,
+                                              HttpServletRequest httpRequest) {
+        authRateLimiter.check(httpRequest.getRemoteAddr(), request.getEmail());
         return ResponseEntity.ok(authService.login(request));
     }
 }
\ No newline at end of file
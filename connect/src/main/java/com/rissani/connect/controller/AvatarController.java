@@ -0,0 +1,52 @@
+package com.rissani.connect.controller;
+
+import com.rissani.connect.storage.AvatarStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+
+/**
+ * Fichiers d'avatar, publics (balises img, sans jeton) : la clé est le hachage du contenu, donc
+ * imprévisible et immuable, d'où un cache d'un an côté navigateur et proxys.
+ */
+@RestController
+@RequestMapping("/api/avatars")
+@RequiredArgsConstructor
+public class AvatarController {
+
+    private static final String IMMUTABLE = "public, max-age=31536000, immutable";
+
+    private final AvatarStore avatarStore;
+
+    @GetMapping("/{key}")
+    public void getAvatar(@PathVariable String key, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        serve(key, AvatarStore.Variant.FULL, request, response);
+    }
+
+    @GetMapping("/thumb/{key}")
+    public void getThumbnail(@PathVariable String key, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        serve(key, AvatarStore.Variant.THUMBNAIL, request, response);
+    }
+
+    private void serve(String key, AvatarStore.Variant variant, HttpServletRequest request,
+                       HttpServletResponse response) throws IOException {
+        Optional<Path> file = avatarStore.find(key, variant);
+        if (file.isEmpty()) {
+            // 404 sans corps : la balise img affiche son repli
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        String etag = "\"" + key + (variant == AvatarStore.Variant.THUMBNAIL ? "-thumb" : "") + "\"";
+        FileResponses.serve(file.get(), AvatarStore.contentType(key), etag, IMMUTABLE, request, response);
+    }
+}
@@ -0,0 +1,39 @@
+package com.rissani.connect.controller;
+
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+/**
+ * GET conditionnels : l'ETag est calculé à partir d'une version (requête scalaire ou cache), et un
+ * If-None-Match correspondant renvoie 304 avant tout chargement d'entité ou sérialisation.
+ */
+final class ConditionalResponses {
+
+    // "private, no-cache" : le navigateur garde la réponse mais la revalide à chaque fois
+    // (sans cela, Spring Security envoie no-store et aucun If-None-Match n'est jamais émis)
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ConditionalResponses() {
+    }
+
+    static <T> ResponseEntity<T> withEtag(WebRequest request, String etag, Supplier<T> body) {
+        // checkNotModified pose déjà l'en-tête ETag sur la réponse
+        if (request.checkNotModified(etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(body.get());
+    }
+
+    /**
+     * Ressource sans version connue (inexistante) : pas d'ETag, le service lève l'erreur habituelle.
+     */
+    static <T> ResponseEntity<T> withEtag(WebRequest request, Optional<String> etag, Supplier<T> body) {
+        return etag.map(value -> withEtag(request, value, body))
+                .orElseGet(() -> ResponseEntity.ok(body.get()));
+    }
+}
@@ -1,10 +1,18 @@
 package com.rissani.connect.controller;
 
 import com.rissani.connect.dto.EventResponse;
+import com.rissani.connect.dto.EventSearchRequest;
+import com.rissani.connect.dto.FieldSelection;
+import com.rissani.connect.dto.ParticipationResponse;
+import com.rissani.connect.live.EventUpdateHub;
 import com.rissani.connect.service.EventService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -14,21 +22,38 @@ import java.util.List;
 public class EventController {
 
     private final EventService eventService;
+    private final EventUpdateHub eventUpdateHub;
 
     @GetMapping
-    public ResponseEntity<List<EventResponse>> getAllEvents() {
-        return ResponseEntity.ok(eventService.getAllEvents());
+    public ResponseEntity<MappingJacksonValue> searchEvents(@ModelAttribute EventSearchRequest request) {
+        FieldSelection fields = FieldSelection.parse(request.getFields(), EventResponse.FIELDS);
+        return ResponseEntity.ok(fields.apply(eventService.searchEvents(request, fields)));
+    }
+
+    /**
+     * Flux SSE des changements (created, deleted, joined, left) ; « resync » demande de recharger la liste.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamUpdates() {
+        return eventUpdateHub.subscribe();
+    }
+
+    @GetMapping("/all")
+    public ResponseEntity<MappingJacksonValue> getAllEvents(@RequestParam(required = false) String fields,
+                                                            WebRequest request) {
+        FieldSelection selection = FieldSelection.parse(fields, EventResponse.FIELDS);
+        return ConditionalResponses.withEtag(request, selection.etag(eventService.getEventsEtag()),
+                () -> selection.apply(eventService.getAllEvents(selection)));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<EventResponse> getEventById(@PathVariable String id) {
-        return ResponseEntity.ok(eventService.getEventById(id));
+    public ResponseEntity<EventResponse> getEventById(@PathVariable String id, WebRequest request) {
+        return ConditionalResponses.withEtag(request, eventService.getEventEtag(id), () -> eventService.getEventById(id));
     }
 
     @PostMapping("/{id}/participate")
-    public ResponseEntity<Void> participateToEvent(@PathVariable String id) {
-        eventService.participateToEvent(id);
-        return ResponseEntity.ok().build();
+    public ResponseEntity<ParticipationResponse> participateToEvent(@PathVariable String id) {
+        return ResponseEntity.ok(eventService.participateToEvent(id));
     }
 
     @DeleteMapping("/{id}/participate")
@@ -38,7 +63,9 @@ public class EventController {
     }
 
     @GetMapping("/user/{userId}")
-    public ResponseEntity<List<EventResponse>> getUserEvents(@PathVariable String userId) {
-        return ResponseEntity.ok(eventService.getUserEvents(userId));
+    public ResponseEntity<List<EventResponse>> getUserEvents(@PathVariable String userId, WebRequest request) {
+        // Toute participation change la révision de la table : elle suffit comme ETag
+        return ConditionalResponses.withEtag(request, eventService.getEventsEtag(),
+                () -> eventService.getUserEvents(userId));
     }
 }
@@ -1,11 +1,19 @@
 package com.rissani.connect.controller;
 
+import com.rissani.connect.dto.FieldSelection;
 import com.rissani.connect.dto.UserResponse;
+import com.rissani.connect.dto.UserSearchHit;
+import com.rissani.connect.dto.UserSearchRequest;
 import com.rissani.connect.service.UserService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.util.List;
 
 @RestController
@@ -15,9 +23,39 @@ public class UserController {
 
     private final UserService userService;
 
+    @GetMapping
+    public ResponseEntity<MappingJacksonValue> searchUsers(@ModelAttribute UserSearchRequest request) {
+        FieldSelection fields = FieldSelection.parse(request.getFields(), UserResponse.FIELDS);
+        return ResponseEntity.ok(fields.apply(userService.searchUsers(request, fields)));
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<List<UserSearchHit>> quickSearch(@RequestParam String q,
+                                                           @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(userService.quickSearch(q, limit));
+    }
+
+    /**
+     * GET /api/users/batch?ids=a,b,c ; POST avec un tableau JSON d'ids pour les listes trop longues
+     * pour une URL (au-delà de ~200 ids).
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<MappingJacksonValue> getUsersByIds(@RequestParam List<String> ids,
+                                                             @RequestParam(required = false) String fields) {
+        FieldSelection selection = FieldSelection.parse(fields, UserResponse.FIELDS);
+        return ResponseEntity.ok(selection.apply(userService.getUsersByIds(ids)));
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<MappingJacksonValue> postUsersByIds(@RequestBody List<String> ids,
+                                                              @RequestParam(required = false) String fields) {
+        return getUsersByIds(ids, fields);
+    }
+
     @GetMapping("/me")
-    public ResponseEntity<UserResponse> getCurrentUser() {
-        return ResponseEntity.ok(userService.getCurrentUserProfile());
+    public ResponseEntity<UserResponse> getCurrentUser(WebRequest request) {
+        return ConditionalResponses.withEtag(request, userService.getCurrentUserEtag(),
+                userService::getCurrentUserProfile);
     }
 
     @PutMapping("/me")
@@ -25,9 +63,19 @@ public class UserController {
         return ResponseEntity.ok(userService.updateProfile(updateRequest));
     }
 
+    @PostMapping(value = "/me/avatar", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<UserResponse> uploadAvatar(@RequestParam("file") MultipartFile file) throws IOException {
+        return ResponseEntity.ok(userService.updateAvatar(file.getBytes()));
+    }
+
+    @DeleteMapping("/me/avatar")
+    public ResponseEntity<UserResponse> removeAvatar() {
+        return ResponseEntity.ok(userService.removeAvatar());
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<UserResponse> getUserById(@PathVariable String id) {
-        return ResponseEntity.ok(userService.getUserById(id));
+    public ResponseEntity<UserResponse> getUserById(@PathVariable String id, WebRequest request) {
+        return ConditionalResponses.withEtag(request, userService.getUserEtag(id), () -> userService.getUserById(id));
     }
     @GetMapping("all-users")
     public ResponseEntity<List<UserResponse>> getAllUsers() {
@@ -0,0 +1,61 @@
+package com.rissani.connect.datagen;
+
+import com.rissani.connect.entity.User;
+
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Noms et prénoms des alumni générés : surtout marocains (patronymes fréquents au Tafilalet en tête),
+ * une part de noms français. Chaque liste est rangée par fréquence et tirée selon une loi de Zipf, ce qui
+ * donne des homonymes nombreux comme dans la vraie base. Accents et particules restent, pour la recherche.
+ */
+final class AlumniNames {
+
+    private static final double MOROCCAN_SHARE = 0.85;
+
+    private static final WeightedChoice<String> MOROCCAN_NOMS = WeightedChoice.zipf(List.of(
+            "Alaoui", "El Filali", "Idrissi", "Amrani", "Bennani", "Ouazzani", "Tazi", "Berrada",
+            "El Alaoui", "Benali", "Chraïbi", "Lahlou", "Benjelloun", "El Fassi", "Sebti", "Kettani",
+            "Ait Ali", "Ait Lahcen", "Ouhammou", "Amziane", "Boukhris", "Zerouali", "Hajji", "Naciri",
+            "Benaïssa", "Bouzid", "El Khattabi", "Oubaha", "Moussaoui", "Ziani", "Bakkali", "Cherkaoui",
+            "Belhaj", "Rachidi", "Skalli", "El Ouafi", "Touzani", "Aït Benhaddou", "Daoudi", "Mernissi"), 0.9);
+
+    private static final WeightedChoice<String> MOROCCAN_PRENOMS_HOMMES = WeightedChoice.zipf(List.of(
+            "Mohamed", "Youssef", "Ahmed", "Hamza", "Omar", "Ayoub", "Mehdi", "Yassine", "Abdellah", "Rachid",
+            "Said", "Mustapha", "Hassan", "Karim", "Anas", "Othmane", "Ismaïl", "Brahim", "Lahcen", "Zakaria",
+            "Abderrahim", "Khalid", "Driss", "Ilyas", "Soufiane"), 1.0);
+
+    private static final WeightedChoice<String> MOROCCAN_PRENOMS_FEMMES = WeightedChoice.zipf(List.of(
+            "Fatima Zahra", "Khadija", "Aïcha", "Salma", "Imane", "Zineb", "Hajar", "Sara", "Meryem", "Nadia",
+            "Houda", "Asmae", "Kaoutar", "Soukaina", "Loubna", "Hanane", "Nora", "Ikram", "Chaïmae", "Oumaima",
+            "Latifa", "Btissam", "Ghita", "Rim", "Yasmine"), 1.0);
+
+    private static final WeightedChoice<String> FRENCH_NOMS = WeightedChoice.zipf(List.of(
+            "Martin", "Bernard", "Dubois", "Thomas", "Robert", "Richard", "Petit", "Durand", "Leroy", "Moreau",
+            "Simon", "Laurent", "Lefèvre", "Michel", "Garcia", "David", "Bertrand", "Roux", "Vincent", "Fournier"),
+            0.8);
+
+    private static final WeightedChoice<String> FRENCH_PRENOMS_HOMMES = WeightedChoice.zipf(List.of(
+            "Lucas", "Hugo", "Thomas", "Nicolas", "Julien", "Antoine", "Maxime", "Théo", "Louis", "Mathieu",
+            "Clément", "Pierre", "Alexandre", "Romain", "Jérôme"), 0.9);
+
+    private static final WeightedChoice<String> FRENCH_PRENOMS_FEMMES = WeightedChoice.zipf(List.of(
+            "Emma", "Léa", "Camille", "Chloé", "Manon", "Sarah", "Julie", "Marie", "Inès", "Pauline",
+            "Laura", "Céline", "Hélène", "Élodie", "Anaïs"), 0.9);
+
+    private AlumniNames() {
+    }
+
+    record Name(String prenom, String nom, User.Sexe sexe) {
+    }
+
+    static Name next(Random random) {
+        boolean moroccan = random.nextDouble() < MOROCCAN_SHARE;
+        User.Sexe sexe = random.nextBoolean() ? User.Sexe.HOMME : User.Sexe.FEMME;
+        WeightedChoice<String> prenoms = moroccan
+                ? (sexe == User.Sexe.HOMME ? MOROCCAN_PRENOMS_HOMMES : MOROCCAN_PRENOMS_FEMMES)
+                : (sexe == User.Sexe.HOMME ? FRENCH_PRENOMS_HOMMES : FRENCH_PRENOMS_FEMMES);
+        return new Name(prenoms.pick(random), (moroccan ? MOROCCAN_NOMS : FRENCH_NOMS).pick(random), sexe);
+    }
+}
@@ -0,0 +1,24 @@
+package com.rissani.connect.datagen;
+
+import com.rissani.connect.ConnectApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+
+/**
+ * Génération en ligne de commande : l'application démarre sans serveur web avec le profil « datagen »,
+ * DataGenerationRunner remplit la base, puis le contexte est refermé et la JVM se termine normalement.
+ * Base et volumes par les propriétés habituelles (--spring.profiles.active=prod, --app.datagen.users=...).
+ */
+public final class DataGenerationLauncher {
+
+    private DataGenerationLauncher() {
+    }
+
+    public static void main(String[] args) {
+        SpringApplication application = new SpringApplication(ConnectApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        application.setAdditionalProfiles("datagen");
+        // DataGenerationRunner s'exécute pendant run() : il ne reste qu'à refermer le contexte
+        application.run(args).close();
+    }
+}
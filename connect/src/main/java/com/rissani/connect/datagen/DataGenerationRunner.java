@@ -0,0 +1,65 @@
+package com.rissani.connect.datagen;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.annotation.Profile;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Profil « datagen » : remplit la base au démarrage, avant ApplicationReadyEvent, donc avant la construction
+ * de l'index de recherche, des statistiques admin et de l'admin initial. Sans effet si la base contient déjà
+ * des événements ou des utilisateurs. En ligne de commande, contre MySQL notamment, DataGenerationLauncher
+ * démarre l'application sans serveur web et la referme une fois la base remplie.
+ */
+@Slf4j
+@Component
+@Profile("datagen")
+public class DataGenerationRunner implements ApplicationRunner {
+
+    private final SyntheticDataGenerator generator;
+    private final JdbcTemplate jdbcTemplate;
+    private final PasswordEncoder passwordEncoder;
+    private final DataGenerationSettings settings;
+    private final String password;
+
+    public DataGenerationRunner(
+            SyntheticDataGenerator generator,
+            JdbcTemplate jdbcTemplate,
+            PasswordEncoder passwordEncoder,
+            @Value("${app.datagen.users:100000}") int users,
+            @Value("${app.datagen.events:10000}") int events,
+            @Value("${app.datagen.participations:1000000}") int participations,
+            @Value("${app.datagen.seed:42}") long seed,
+            @Value("${app.datagen.batch-size:1000}") int batchSize,
+            @Value("${app.datagen.participation-skew:1.0}") double participationSkew,
+            @Value("${app.datagen.reference-date:}") String referenceDate,
+            @Value("${app.datagen.password:Alumni123!}") String password
+    ) {
+        this.generator = generator;
+        this.jdbcTemplate = jdbcTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.settings = new DataGenerationSettings(users, events, participations, seed, batchSize, participationSkew,
+                referenceDate.isBlank() ? LocalDate.now() : LocalDate.parse(referenceDate));
+        this.password = password;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        Long existingUsers = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM users", Long.class);
+        Long existingEvents = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM events", Long.class);
+        if (existingUsers != null && existingUsers > 0 || existingEvents != null && existingEvents > 0) {
+            log.warn("Génération ignorée : la base contient déjà {} utilisateurs et {} événements",
+                    existingUsers, existingEvents);
+        } else {
+            log.info("Génération de données synthétiques : {}", settings);
+            // Un seul hachage, partagé par tous les comptes générés
+            generator.generate(settings, passwordEncoder.encode(password));
+        }
+    }
+}
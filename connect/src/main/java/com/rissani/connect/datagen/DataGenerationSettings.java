@@ -0,0 +1,30 @@
+package com.rissani.connect.datagen;
+
+import java.time.LocalDate;
+
+/**
+ * Volumes et graine d'une génération. Même graine, mêmes volumes et même date de référence :
+ * mêmes lignes, identifiants compris.
+ *
+ * @param participationSkew exposant de la loi de Zipf des participations par événement (0 = uniforme)
+ * @param referenceDate     « aujourd'hui » du jeu de données : inscriptions avant, événements de part et d'autre
+ */
+public record DataGenerationSettings(
+        int users,
+        int events,
+        int participations,
+        long seed,
+        int batchSize,
+        double participationSkew,
+        LocalDate referenceDate
+) {
+
+    public DataGenerationSettings {
+        if (users <= 0 || events < 0 || participations < 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("Volumes de génération invalides");
+        }
+        if (events == 0 && participations > 0) {
+            throw new IllegalArgumentException("Des participations sans événement");
+        }
+    }
+}
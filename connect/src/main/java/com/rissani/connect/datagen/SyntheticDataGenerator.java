@@ -0,0 +1,368 @@
+package com.rissani.connect.datagen;
+
+import com.rissani.connect.entity.Event;
+import com.rissani.connect.entity.User;
+import com.rissani.connect.entity.UuidV7;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.ByteBuffer;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Jeu de données synthétique à l'échelle de la production : alumni, événements et participations,
+ * insérés en JDBC batch (une transaction par paquet) sans passer par Hibernate. Tous les tirages viennent
+ * d'un seul Random initialisé par la graine, consommé dans un ordre fixe : le résultat est reproductible.
+ * Les participations suivent une loi de Zipf sur un classement aléatoire des événements : quelques
+ * événements très courus, une longue traîne presque vide.
+ * Les index en mémoire (recherche, statistiques) ne sont pas mis à jour : l'appelant les reconstruit,
+ * ou la génération a lieu avant ApplicationReadyEvent.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SyntheticDataGenerator {
+
+    private static final String USER_SQL = "INSERT INTO users (id, nom, prenom, num_telephone, email, password, "
+            + "role, sexe, annee_bac, filiere_bac, statut, specialite, created_at, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, 'USER', ?, ?, ?, ?, ?, ?, 0)";
+    private static final String EVENT_SQL = "INSERT INTO events (id, titre, description, date, lieu, type, capacite, "
+            + "nombre_participants, created_by, created_at, version) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+    private static final String PARTICIPANT_SQL = "INSERT INTO event_participants (event_id, user_id) VALUES (?, ?)";
+
+    // Même liste que le filtre de l'annuaire côté front ; null = filière non renseignée
+    private static final WeightedChoice<String> FILIERES = WeightedChoice.of(Arrays.asList(
+                    "Sciences Expérimentales", "Lettres Modernes", "Sciences Mathématiques A", "Sciences Économiques",
+                    "Sciences Mathématiques B", "Autre", "Arts Appliqués", null),
+            34, 24, 12, 12, 6, 6, 2, 4);
+
+    private static final WeightedChoice<String> SPECIALITES = WeightedChoice.zipf(Arrays.asList(
+            "Enseignement", "Informatique", null, "Médecine", "Commerce", "Génie civil", "Agronomie", "Droit",
+            "Finance", "Tourisme", "Administration publique", "Pharmacie", "Architecture", "Artisanat",
+            "Énergies renouvelables", "Journalisme"), 0.7);
+
+    private static final Pattern NOT_SLUG = Pattern.compile("[^a-z0-9]");
+
+    private static final WeightedChoice<String> DOMAINES = WeightedChoice.zipf(List.of(
+            "gmail.com", "hotmail.com", "yahoo.fr", "outlook.fr", "menara.ma"), 1.2);
+
+    private static final WeightedChoice<Event.TypeEvent> TYPES = WeightedChoice.of(
+            List.of(Event.TypeEvent.RENCONTRE, Event.TypeEvent.AUTRE, Event.TypeEvent.FORUM), 45, 30, 25);
+
+    private static final WeightedChoice<String> LIEUX = WeightedChoice.zipf(List.of(
+            "Rissani", "Errachidia", "Erfoud", "Casablanca", "Rabat", "En ligne", "Marrakech", "Fès", "Agadir",
+            "Meknès", "Tanger", "Paris", "Lyon", "Montréal", "Bruxelles"), 0.9);
+
+    private static final WeightedChoice<Integer> CAPACITES = WeightedChoice.of(
+            Arrays.asList(null, 30, 50, 100, 200, 500), 55, 10, 12, 12, 7, 4);
+
+    private static final String[] TITRES_FORUM = {"Forum des métiers", "Forum orientation post-bac",
+            "Forum entreprises et alumni", "Forum de l'emploi"};
+    private static final String[] TITRES_RENCONTRE = {"Rencontre des anciens", "Afterwork alumni",
+            "Retrouvailles de promotion", "Ftour des anciens", "Rencontre intergénérationnelle"};
+    private static final String[] TITRES_AUTRE = {"Conférence", "Atelier CV et entretien", "Journée portes ouvertes",
+            "Collecte solidaire", "Tournoi sportif", "Visite du ksar"};
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public record Report(int users, int events, long participations, long durationMillis) {
+    }
+
+    /**
+     * Insère les lignes dans la base courante (tables déjà créées). Chaque utilisateur reçoit passwordHash.
+     */
+    public Report generate(DataGenerationSettings settings, String passwordHash) {
+        long start = System.currentTimeMillis();
+        Random random = new Random(settings.seed());
+        LocalDateTime reference = settings.referenceDate().atStartOfDay();
+
+        byte[] userIds = generateUsers(settings, passwordHash, random, reference);
+        long participations = 0;
+        if (settings.events() > 0) {
+            int[] participants = new int[settings.events()];
+            byte[] eventIds = generateEvents(settings, userIds, participants, random, reference);
+            participations = generateParticipations(settings, userIds, eventIds, participants, random);
+        }
+
+        Report report = new Report(settings.users(), settings.events(), participations,
+                System.currentTimeMillis() - start);
+        log.info("Données synthétiques générées (graine {}) : {} utilisateurs, {} événements, {} participations en {} ms",
+                settings.seed(), report.users(), report.events(), report.participations(), report.durationMillis());
+        return report;
+    }
+
+    // ============ UTILISATEURS ============
+
+    private byte[] generateUsers(DataGenerationSettings settings, String passwordHash, Random random,
+                                 LocalDateTime reference) {
+        long phaseStart = System.currentTimeMillis();
+        int users = settings.users();
+        byte[] ids = new byte[users * 16];
+        int lastBac = reference.getYear() - 1;
+        WeightedChoice<Integer> anneesBac = bacYears(1990, lastBac);
+        // Inscriptions étalées sur cinq ans, dans l'ordre des identifiants
+        LocalDateTime platformStart = reference.minusYears(5);
+        long spanSeconds = Duration.between(platformStart, reference).toSeconds();
+
+        BatchWriter<UserRow> writer = new BatchWriter<>(USER_SQL, settings.batchSize(), (ps, row) -> {
+            ps.setBytes(1, row.id());
+            ps.setString(2, row.name().nom());
+            ps.setString(3, row.name().prenom());
+            ps.setString(4, row.phone());
+            ps.setString(5, row.email());
+            ps.setString(6, passwordHash);
+            ps.setString(7, row.name().sexe().name());
+            ps.setInt(8, row.anneeBac());
+            ps.setString(9, row.filiereBac());
+            ps.setString(10, row.statut().name());
+            ps.setString(11, row.specialite());
+            ps.setTimestamp(12, Timestamp.valueOf(row.createdAt()));
+        });
+        for (int i = 0; i < users; i++) {
+            AlumniNames.Name name = AlumniNames.next(random);
+            int anneeBac = anneesBac.pick(random);
+            LocalDateTime createdAt = platformStart.plusSeconds(spanSeconds * i / users);
+            byte[] id = bytes(UuidV7.of(createdAt.toInstant(ZoneOffset.UTC).toEpochMilli(), i, random.nextLong()));
+            System.arraycopy(id, 0, ids, i * 16, 16);
+            writer.add(new UserRow(id, name,
+                    slug(name.prenom()) + "." + slug(name.nom()) + i + "@" + DOMAINES.pick(random),
+                    (random.nextBoolean() ? "06" : "07") + String.format("%08d", random.nextInt(100_000_000)),
+                    anneeBac, FILIERES.pick(random), statut(reference.getYear() - anneeBac, random),
+                    SPECIALITES.pick(random), createdAt));
+        }
+        writer.flush();
+        logPhase("utilisateurs", users, phaseStart);
+        return ids;
+    }
+
+    // Promotions plus nombreuses avec les années : poids croissant linéairement
+    private static WeightedChoice<Integer> bacYears(int first, int last) {
+        List<Integer> years = new ArrayList<>();
+        double[] weights = new double[last - first + 1];
+        for (int year = first; year <= last; year++) {
+            years.add(year);
+            weights[year - first] = 1 + 0.15 * (year - first);
+        }
+        return WeightedChoice.of(years, weights);
+    }
+
+    // Étudiants dans les cinq ans qui suivent le bac, en poste ensuite
+    private static User.Statut statut(int yearsSinceBac, Random random) {
+        double studentShare = yearsSinceBac <= 5 ? 0.85 : yearsSinceBac <= 8 ? 0.4 : 0.05;
+        return random.nextDouble() < studentShare ? User.Statut.ETUDIANT : User.Statut.EMPLOYE;
+    }
+
+    // ============ ÉVÉNEMENTS ============
+
+    /**
+     * Événements sur trois ans passés et six mois à venir. participants reçoit le nombre d'inscrits de chaque
+     * événement, tiré de sa popularité ; les 1 % les plus courus n'ont pas de limite de places.
+     */
+    private byte[] generateEvents(DataGenerationSettings settings, byte[] userIds, int[] participants, Random random,
+                                  LocalDateTime reference) {
+        long phaseStart = System.currentTimeMillis();
+        int events = settings.events();
+        int users = settings.users();
+        byte[] ids = new byte[events * 16];
+
+        int[] rank = new int[events];
+        for (int e = 0; e < events; e++) {
+            rank[e] = e;
+        }
+        for (int e = events - 1; e > 0; e--) {
+            int other = random.nextInt(e + 1);
+            int swap = rank[e];
+            rank[e] = rank[other];
+            rank[other] = swap;
+        }
+        double[] popularity = new double[events];
+        double total = 0;
+        for (int e = 0; e < events; e++) {
+            popularity[e] = 1 / Math.pow(rank[e] + 1, settings.participationSkew());
+            total += popularity[e];
+        }
+        int unlimitedRanks = Math.max(1, events / 100);
+
+        LocalDateTime first = reference.minusYears(3);
+        long spanMinutes = Duration.between(first, reference.plusMonths(6)).toMinutes();
+        BatchWriter<EventRow> writer = new BatchWriter<>(EVENT_SQL, settings.batchSize(), (ps, row) -> {
+            ps.setBytes(1, row.id());
+            ps.setString(2, row.titre());
+            ps.setString(3, row.description());
+            ps.setTimestamp(4, Timestamp.valueOf(row.date()));
+            ps.setString(5, row.lieu());
+            ps.setString(6, row.type().name());
+            ps.setObject(7, row.capacite(), Types.INTEGER);
+            ps.setInt(8, row.participants());
+            ps.setBytes(9, row.createdBy());
+            ps.setTimestamp(10, Timestamp.valueOf(row.createdAt()));
+        });
+        for (int e = 0; e < events; e++) {
+            LocalDateTime date = first.plusMinutes((long) (random.nextDouble() * spanMinutes))
+                    .withMinute(0).withSecond(0).withNano(0);
+            Event.TypeEvent type = TYPES.pick(random);
+            String lieu = LIEUX.pick(random);
+            Integer capacite = rank[e] < unlimitedRanks ? null : CAPACITES.pick(random);
+            LocalDateTime createdAt = date.minusDays(3 + random.nextInt(88));
+            if (createdAt.isAfter(reference)) {
+                createdAt = reference.minusMinutes(random.nextInt(24 * 60));
+            }
+            int limit = capacite != null ? Math.min(capacite, users) : users;
+            participants[e] = (int) Math.min(limit, Math.round(settings.participations() * popularity[e] / total));
+
+            byte[] id = bytes(UuidV7.of(createdAt.toInstant(ZoneOffset.UTC).toEpochMilli(), e, random.nextLong()));
+            System.arraycopy(id, 0, ids, e * 16, 16);
+            int organizer = random.nextInt(users);
+            writer.add(new EventRow(id, title(type, date, lieu, random),
+                    "Événement organisé par l'association des anciens élèves de Rissani.",
+                    date, lieu, type, capacite, participants[e],
+                    Arrays.copyOfRange(userIds, organizer * 16, organizer * 16 + 16), createdAt));
+        }
+        writer.flush();
+        logPhase("événements", events, phaseStart);
+        return ids;
+    }
+
+    private static String title(Event.TypeEvent type, LocalDateTime date, String lieu, Random random) {
+        String[] titres = switch (type) {
+            case FORUM -> TITRES_FORUM;
+            case RENCONTRE -> TITRES_RENCONTRE;
+            case AUTRE -> TITRES_AUTRE;
+        };
+        return titres[random.nextInt(titres.length)] + " " + date.getYear() + " - " + lieu;
+    }
+
+    // ============ PARTICIPATIONS ============
+
+    /**
+     * Inscrits d'un événement : (départ + j * pas) modulo le nombre d'utilisateurs, avec un pas premier
+     * avec lui, donc distincts sans mémoriser qui est déjà inscrit.
+     */
+    private long generateParticipations(DataGenerationSettings settings, byte[] userIds, byte[] eventIds,
+                                        int[] participants, Random random) {
+        long phaseStart = System.currentTimeMillis();
+        int users = settings.users();
+        BatchWriter<byte[][]> writer = new BatchWriter<>(PARTICIPANT_SQL, settings.batchSize(), (ps, row) -> {
+            ps.setBytes(1, row[0]);
+            ps.setBytes(2, row[1]);
+        });
+        for (int e = 0; e < participants.length; e++) {
+            if (participants[e] == 0) {
+                continue;
+            }
+            byte[] eventId = Arrays.copyOfRange(eventIds, e * 16, e * 16 + 16);
+            long user = random.nextInt(users);
+            long stride = coprimeStride(users, random);
+            for (int j = 0; j < participants[e]; j++) {
+                int u = (int) user;
+                writer.add(new byte[][]{eventId, Arrays.copyOfRange(userIds, u * 16, u * 16 + 16)});
+                user = (user + stride) % users;
+            }
+        }
+        writer.flush();
+        logPhase("participations", writer.written, phaseStart);
+        return writer.written;
+    }
+
+    private static long coprimeStride(int users, Random random) {
+        if (users == 1) {
+            return 1;
+        }
+        long stride;
+        do {
+            stride = 1 + random.nextInt(users - 1);
+        } while (gcd(stride, users) != 1);
+        return stride;
+    }
+
+    private static long gcd(long a, long b) {
+        while (b != 0) {
+            long t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    // ============ OUTILS ============
+
+    private static byte[] bytes(UUID uuid) {
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    // "Fatima Zahra" -> "fatimazahra", "Aït Benhaddou" -> "aitbenhaddou"
+    private static String slug(String text) {
+        String folded = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        return NOT_SLUG.matcher(folded).replaceAll("");
+    }
+
+    private static void logPhase(String table, long rows, long phaseStart) {
+        long millis = Math.max(1, System.currentTimeMillis() - phaseStart);
+        log.info("Génération : {} {} en {} ms ({} lignes/s)", rows, table, millis, rows * 1000 / millis);
+    }
+
+    /**
+     * Lignes accumulées puis insérées par paquets de batchSize, chaque paquet dans sa transaction.
+     */
+    private final class BatchWriter<T> {
+
+        private final String sql;
+        private final int batchSize;
+        private final ParameterizedPreparedStatementSetter<T> setter;
+        private final List<T> rows;
+        private long written;
+
+        BatchWriter(String sql, int batchSize, ParameterizedPreparedStatementSetter<T> setter) {
+            this.sql = sql;
+            this.batchSize = batchSize;
+            this.setter = setter;
+            this.rows = new ArrayList<>(batchSize);
+        }
+
+        void add(T row) {
+            rows.add(row);
+            if (rows.size() == batchSize) {
+                flush();
+            }
+        }
+
+        void flush() {
+            if (rows.isEmpty()) {
+                return;
+            }
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(sql, rows, rows.size(), setter));
+            written += rows.size();
+            rows.clear();
+        }
+    }
+
+    private record UserRow(byte[] id, AlumniNames.Name name, String email, String phone, int anneeBac,
+                           String filiereBac, User.Statut statut, String specialite, LocalDateTime createdAt) {
+    }
+
+    private record EventRow(byte[] id, String titre, String description, LocalDateTime date, String lieu,
+                            Event.TypeEvent type, Integer capacite, int participants, byte[] createdBy,
+                            LocalDateTime createdAt) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.rissani.connect.datagen;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Tirage pondéré dans une liste fixe : poids cumulés et recherche dichotomique.
+ */
+final class WeightedChoice<T> {
+
+    private final List<T> values;
+    private final double[] cumulative;
+
+    private WeightedChoice(List<T> values, double[] weights) {
+        if (values.isEmpty() || values.size() != weights.length) {
+            throw new IllegalArgumentException("Autant de poids que de valeurs, au moins une");
+        }
+        // Valeurs null admises (champ non renseigné), d'où pas de List.copyOf
+        this.values = Collections.unmodifiableList(new ArrayList<>(values));
+        this.cumulative = new double[weights.length];
+        double total = 0;
+        for (int i = 0; i < weights.length; i++) {
+            total += weights[i];
+            cumulative[i] = total;
+        }
+    }
+
+    static <T> WeightedChoice<T> of(List<T> values, double... weights) {
+        return new WeightedChoice<>(values, weights);
+    }
+
+    /**
+     * Loi de Zipf sur une liste rangée du plus fréquent au moins fréquent : le rang k pèse 1 / k^exponent.
+     */
+    static <T> WeightedChoice<T> zipf(List<T> values, double exponent) {
+        double[] weights = new double[values.size()];
+        for (int i = 0; i < weights.length; i++) {
+            weights[i] = 1 / Math.pow(i + 1, exponent);
+        }
+        return new WeightedChoice<>(values, weights);
+    }
+
+    T pick(Random random) {
+        double target = random.nextDouble() * cumulative[cumulative.length - 1];
+        int index = Arrays.binarySearch(cumulative, target);
+        return values.get(index >= 0 ? index : -index - 1);
+    }
+}
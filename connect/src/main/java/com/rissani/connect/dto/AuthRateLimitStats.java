@@ -0,0 +1,19 @@
+package com.rissani.connect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AuthRateLimitStats {
+
+    private long trackedIps;
+    private long trackedEmails;
+    private long allowed;
+    private long rejectedByIp;
+    private long rejectedByEmail;
+}
@@ -0,0 +1,31 @@
+package com.rissani.connect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardStats {
+
+    private long totalUsers;
+    private Map<String, Long> usersByStatut;
+    private Map<String, Long> usersBySexe;
+    private Map<String, Long> usersByFiliereBac;
+    private Map<String, Long> usersByAnneeBac;
+    private long upcomingEvents;
+    private long pastEvents;
+    private Map<String, Long> upcomingEventsByType;
+    private Map<String, Long> pastEventsByType;
+    private long participations;
+    private long waitlisted;
+    private LocalDateTime lastReconciledAt;
+    // Somme des écarts corrigés par la dernière réconciliation (0 = compteurs exacts)
+    private long lastReconciliationDrift;
+}
@@ -3,6 +3,7 @@ package com.rissani.connect.dto;
 
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Positive;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -30,4 +31,7 @@ public class EventRequest {
 
     @NotBlank(message = "Le type est obligatoire")
     private String type;
+
+    @Positive(message = "La capacité doit être positive")
+    private Integer capacite;
 }
\ No newline at end of file
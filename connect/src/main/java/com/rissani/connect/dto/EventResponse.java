@@ -1,6 +1,8 @@
 package com.rissani.connect.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.rissani.connect.entity.Event;
+import com.rissani.connect.repository.projection.EventListingRow;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -8,20 +10,27 @@ import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(FieldSelection.FILTER)
 public class EventResponse {
 
+    // Champs sélectionnables par ?fields= ; participants est chargé par une requête à part
+    public static final List<String> FIELDS = List.of("id", "titre", "description", "date", "lieu", "type",
+            "capacite", "participants", "createdBy", "createdAt");
+
     private String id;
     private String titre;
     private String description;
     private LocalDateTime date;
     private String lieu;
     private String type;
+    private Integer capacite;
     private List<String> participants;
     private String createdBy;
     private LocalDateTime createdAt;
@@ -34,6 +43,7 @@ public class EventResponse {
                 .date(event.getDate())
                 .lieu(event.getLieu())
                 .type(event.getType().name().toLowerCase())
+                .capacite(event.getCapacite())
                 .participants(event.getParticipants().stream()
                         .map(user -> user.getId())
                         .collect(Collectors.toList()))
@@ -41,4 +51,38 @@ public class EventResponse {
                 .createdAt(event.getCreatedAt())
                 .build();
     }
-}
\ No newline at end of file
+
+    public static EventResponse fromRow(EventListingRow row, List<String> participants) {
+        return EventResponse.builder()
+                .id(row.id())
+                .titre(row.titre())
+                .description(row.description())
+                .date(row.date())
+                .lieu(row.lieu())
+                .type(row.type().name().toLowerCase())
+                .capacite(row.capacite())
+                .participants(participants)
+                .createdBy(row.createdById())
+                .createdAt(row.createdAt())
+                .build();
+    }
+
+    /**
+     * Ligne projetée (alias = nom du champ) : les colonnes non sélectionnées restent null.
+     */
+    public static EventResponse fromProjection(Map<String, Object> row, List<String> participants) {
+        Event.TypeEvent type = (Event.TypeEvent) row.get("type");
+        return EventResponse.builder()
+                .id((String) row.get("id"))
+                .titre((String) row.get("titre"))
+                .description((String) row.get("description"))
+                .date((LocalDateTime) row.get("date"))
+                .lieu((String) row.get("lieu"))
+                .type(type != null ? type.name().toLowerCase() : null)
+                .capacite((Integer) row.get("capacite"))
+                .participants(participants)
+                .createdBy((String) row.get("createdBy"))
+                .createdAt((LocalDateTime) row.get("createdAt"))
+                .build();
+    }
+}
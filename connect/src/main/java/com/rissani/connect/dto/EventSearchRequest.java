@@ -0,0 +1,29 @@
+package com.rissani.connect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class EventSearchRequest {
+
+    // Intervalle [from, to) sur la date de l'événement, heure locale comme les dates stockées
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime from;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    private LocalDateTime to;
+
+    private String type;
+    private String cursor;
+    private Integer size;
+    // Liste de champs séparés par des virgules (voir FieldSelection)
+    private String fields;
+}
@@ -0,0 +1,30 @@
+package com.rissani.connect.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Delta poussé sur /api/events/stream. Selon le type : created (event), deleted (eventId),
+ * joined / left (eventId, userId).
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class EventUpdate {
+
+    public static final String CREATED = "created";
+    public static final String DELETED = "deleted";
+    public static final String JOINED = "joined";
+    public static final String LEFT = "left";
+
+    private long seq;
+    private String type;
+    private String eventId;
+    private String userId;
+    private EventResponse event;
+}
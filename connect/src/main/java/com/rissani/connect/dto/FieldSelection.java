@@ -0,0 +1,86 @@
+package com.rissani.connect.dto;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.converter.json.MappingJacksonValue;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Champs demandés par le paramètre ?fields=nom,prenom,... des listes. Sans paramètre, tous les champs.
+ * L'id est toujours renvoyé : les clients s'en servent comme clé.
+ */
+public final class FieldSelection {
+
+    // Nom du filtre Jackson posé sur les DTO de liste (@JsonFilter)
+    public static final String FILTER = "fields";
+
+    private final Set<String> names;
+    private final List<String> allowed;
+
+    private FieldSelection(Set<String> names, List<String> allowed) {
+        this.names = Collections.unmodifiableSet(names);
+        this.allowed = allowed;
+    }
+
+    public static FieldSelection all(List<String> allowed) {
+        return new FieldSelection(new LinkedHashSet<>(allowed), allowed);
+    }
+
+    public static FieldSelection parse(String fields, List<String> allowed) {
+        if (fields == null || fields.isBlank()) {
+            return all(allowed);
+        }
+        Set<String> names = new LinkedHashSet<>();
+        names.add("id");
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!allowed.contains(name)) {
+                throw new RuntimeException("Champ inconnu : " + name);
+            }
+            names.add(name);
+        }
+        return new FieldSelection(names, allowed);
+    }
+
+    public boolean includes(String name) {
+        return names.contains(name);
+    }
+
+    public Set<String> names() {
+        return names;
+    }
+
+    /**
+     * ETag d'une liste complété par les champs demandés : deux sélections différentes n'ont jamais le même
+     * ETag, l'ordre et les doublons de ?fields= n'y changent rien, et la sélection complète garde l'ETag tel quel.
+     */
+    public String etag(String etag) {
+        if (names.size() == allowed.size()) {
+            return etag;
+        }
+        long mask = 0;
+        for (int i = 0; i < allowed.size(); i++) {
+            if (names.contains(allowed.get(i))) {
+                mask |= 1L << i;
+            }
+        }
+        return etag.substring(0, etag.length() - 1) + ".f" + Long.toHexString(mask) + "\"";
+    }
+
+    /**
+     * Corps de réponse dont les DTO ne sérialisent que les champs demandés.
+     */
+    public MappingJacksonValue apply(Object body) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        value.setFilters(new SimpleFilterProvider()
+                .addFilter(FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(names)));
+        return value;
+    }
+}
@@ -0,0 +1,21 @@
+package com.rissani.connect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LiveUpdateStats {
+
+    private int subscribers;
+    private int maxSubscribers;
+    private long published;
+    private long coalesced;
+    private long resyncs;
+    private long evicted;
+    private long lastSequence;
+}
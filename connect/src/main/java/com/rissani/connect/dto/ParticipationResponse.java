@@ -0,0 +1,26 @@
+package com.rissani.connect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class ParticipationResponse {
+
+    // "inscrit" ou "en_attente"
+    private String statut;
+    // Rang dans la liste d'attente (1 = prochain promu), null si inscrit
+    private Long position;
+
+    public static ParticipationResponse inscrit() {
+        return ParticipationResponse.builder().statut("inscrit").build();
+    }
+
+    public static ParticipationResponse enAttente(long position) {
+        return ParticipationResponse.builder().statut("en_attente").position(position).build();
+    }
+}
@@ -0,0 +1,29 @@
+package com.rissani.connect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PasswordHashingStats {
+
+    private int cost;
+    private int threads;
+    private int activeThreads;
+    private int queueDepth;
+    private int queueCapacity;
+    private double calibratedMillis;
+    private long hashes;
+    private double avgHashMillis;
+    private double maxHashMillis;
+    private long verifications;
+    private double avgVerifyMillis;
+    private double maxVerifyMillis;
+    private double avgQueueWaitMillis;
+    private long rejected;
+    private long upgrades;
+}
@@ -0,0 +1,20 @@
+package com.rissani.connect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchIndexStats {
+
+    private int documents;
+    private int deletedDocuments;
+    private int grams;
+    private long postings;
+    private long estimatedBytes;
+    private long lastBuildMillis;
+}
@@ -0,0 +1,26 @@
+package com.rissani.connect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserImportReport {
+
+    private long totalRows;
+    private long created;
+    private long failed;
+    private long durationMillis;
+    private long hashingMillis;
+    private long insertMillis;
+    private List<ImportRowError> errors;
+    private boolean errorsTruncated;
+    // Mots de passe générés pour les lignes sans mot de passe, à transmettre aux intéressés
+    private List<ImportedCredential> generatedPasswords;
+}
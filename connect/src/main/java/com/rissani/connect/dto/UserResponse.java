@@ -1,20 +1,30 @@
 package com.rissani.connect.dto;
 
 
+import com.fasterxml.jackson.annotation.JsonFilter;
 import com.rissani.connect.entity.User;
+import com.rissani.connect.repository.projection.UserExportRow;
+import com.rissani.connect.storage.AvatarStore;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
+@JsonFilter(FieldSelection.FILTER)
 public class UserResponse {
 
+    // Champs sélectionnables par ?fields= : chacun est une colonne de users du même nom
+    public static final List<String> FIELDS = List.of("id", "nom", "prenom", "email", "numTelephone", "role",
+            "sexe", "anneeBac", "filiereBac", "statut", "specialite", "avatar", "createdAt");
+
     private String id;
     private String nom;
     private String prenom;
@@ -42,8 +52,51 @@ public class UserResponse {
                 .filiereBac(user.getFiliereBac())
                 .statut(user.getStatut() != null ? user.getStatut().name().toLowerCase() : null)
                 .specialite(user.getSpecialite())
-                .avatar(user.getAvatar())
+                .avatar(AvatarStore.urlOf(user.getAvatar()))
                 .createdAt(user.getCreatedAt())
                 .build();
     }
-}
\ No newline at end of file
+
+    public static UserResponse fromRow(UserExportRow row) {
+        return UserResponse.builder()
+                .id(row.id())
+                .nom(row.nom())
+                .prenom(row.prenom())
+                .email(row.email())
+                .numTelephone(row.numTelephone())
+                .role(row.role().name().toLowerCase())
+                .sexe(row.sexe() != null ? row.sexe().name().toLowerCase() : null)
+                .anneeBac(row.anneeBac())
+                .filiereBac(row.filiereBac())
+                .statut(row.statut() != null ? row.statut().name().toLowerCase() : null)
+                .specialite(row.specialite())
+                .avatar(AvatarStore.urlOf(row.avatar()))
+                .createdAt(row.createdAt())
+                .build();
+    }
+
+    /**
+     * Ligne projetée (alias = nom du champ) : les colonnes non sélectionnées restent null.
+     */
+    public static UserResponse fromProjection(Map<String, Object> row) {
+        return UserResponse.builder()
+                .id((String) row.get("id"))
+                .nom((String) row.get("nom"))
+                .prenom((String) row.get("prenom"))
+                .email((String) row.get("email"))
+                .numTelephone((String) row.get("numTelephone"))
+                .role(lowerCase(row.get("role")))
+                .sexe(lowerCase(row.get("sexe")))
+                .anneeBac((Integer) row.get("anneeBac"))
+                .filiereBac((String) row.get("filiereBac"))
+                .statut(lowerCase(row.get("statut")))
+                .specialite((String) row.get("specialite"))
+                .avatar(AvatarStore.urlOf((String) row.get("avatar")))
+                .createdAt((LocalDateTime) row.get("createdAt"))
+                .build();
+    }
+
+    private static String lowerCase(Object value) {
+        return value != null ? ((Enum<?>) value).name().toLowerCase() : null;
+    }
+}
@@ -0,0 +1,20 @@
+package com.rissani.connect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchHit {
+
+    private String id;
+    private String nom;
+    private String prenom;
+    private String specialite;
+    private String filiereBac;
+    private double score;
+}
@@ -0,0 +1,23 @@
+package com.rissani.connect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSearchRequest {
+
+    private String q;
+    private String statut;
+    private String filiereBac;
+    private Integer anneeBac;
+    private String specialite;
+    private String cursor;
+    private Integer size;
+    // Liste de champs séparés par des virgules (voir FieldSelection)
+    private String fields;
+}
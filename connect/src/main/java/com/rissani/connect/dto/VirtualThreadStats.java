@@ -0,0 +1,25 @@
+package com.rissani.connect.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VirtualThreadStats {
+
+    private boolean enabled;
+    private int maxInFlight;
+    private int inFlight;
+    private long rejected;
+    private int dbPoolSize;
+    private int dbActiveConnections;
+    private int dbThreadsAwaitingConnection;
+    private long pinnedEvents;
+    private Map<String, Long> pinnedSites;
+}
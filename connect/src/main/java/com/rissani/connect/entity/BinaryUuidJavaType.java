@@ -0,0 +1,69 @@
+package com.rissani.connect.entity;
+
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.AbstractClassJavaType;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+
+/**
+ * Les identifiants restent des chaînes côté Java et JSON, mais sont stockés en BINARY(16) :
+ * 16 octets au lieu de 36 caractères dans la clé primaire, chaque index secondaire et chaque clé étrangère.
+ * Type Hibernate plutôt qu'AttributeConverter, que Hibernate n'applique pas aux @Id.
+ */
+public class BinaryUuidJavaType extends AbstractClassJavaType<String> {
+
+    public BinaryUuidJavaType() {
+        super(String.class);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <X> X unwrap(String value, Class<X> type, WrapperOptions options) {
+        if (value == null) {
+            return null;
+        }
+        if (byte[].class.equals(type)) {
+            return (X) toBytes(value);
+        }
+        if (String.class.equals(type)) {
+            return (X) value;
+        }
+        throw unknownUnwrap(type);
+    }
+
+    @Override
+    public <X> String wrap(X value, WrapperOptions options) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof byte[] bytes) {
+            return fromBytes(bytes);
+        }
+        if (value instanceof String string) {
+            return string;
+        }
+        throw unknownWrap(value.getClass());
+    }
+
+    /**
+     * Forme binaire d'un identifiant, pour les requêtes natives et JDBC.
+     */
+    public static byte[] toBytes(String id) {
+        UUID uuid;
+        try {
+            uuid = UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Identifiant invalide : " + id);
+        }
+        return ByteBuffer.allocate(16)
+                .putLong(uuid.getMostSignificantBits())
+                .putLong(uuid.getLeastSignificantBits())
+                .array();
+    }
+
+    public static String fromBytes(byte[] bytes) {
+        ByteBuffer buffer = ByteBuffer.wrap(bytes);
+        return new UUID(buffer.getLong(), buffer.getLong()).toString();
+    }
+}
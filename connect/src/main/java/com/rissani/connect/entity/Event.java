@@ -6,6 +6,12 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -14,18 +20,32 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "events")
+@Table(name = "events", indexes = {
+        @Index(name = "idx_events_type_date", columnList = "type, date, id"),
+        @Index(name = "idx_events_date", columnList = "date, id")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @EntityListeners(AuditingEntityListener.class)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "events")
 public class Event {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @JavaType(BinaryUuidJavaType.class)
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(length = 16)
     private String id;
 
+    @PrePersist
+    public void prePersist() {
+        if (id == null) {
+            id = UuidV7.nextString();
+        }
+    }
+
     @Column(nullable = false)
     private String titre;
 
@@ -42,16 +62,30 @@ public class Event {
     @Column(nullable = false)
     private TypeEvent type;
 
+    // Nombre maximum de participants, null = illimité
+    private Integer capacite;
+
+    // Compteur maintenu par les requêtes de participation ; sert de garde contre le surbooking.
+    // Jamais réécrit par un UPDATE JPA, pour ne pas écraser une valeur plus récente
+    @Column(name = "nombre_participants", nullable = false, updatable = false)
+    @ColumnDefault("0")
+    @Builder.Default
+    private int nombreParticipants = 0;
+
     @ManyToMany
     @JoinTable(
             name = "event_participants",
             joinColumns = @JoinColumn(name = "event_id"),
-            inverseJoinColumns = @JoinColumn(name = "user_id")
+            inverseJoinColumns = @JoinColumn(name = "user_id"),
+            uniqueConstraints = @UniqueConstraint(name = "uk_event_participants_event_user",
+                    columnNames = {"event_id", "user_id"}),
+            indexes = @Index(name = "idx_event_participants_user", columnList = "user_id")
     )
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "events.participants")
     @Builder.Default
     private List<User> participants = new ArrayList<>();
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
     private User createdBy;
 
@@ -59,6 +93,12 @@ public class Event {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Incrémentée à chaque modification, participations comprises : sert d'ETag et de verrou optimiste
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
     // Enum
     public enum TypeEvent {
         FORUM, RENCONTRE, AUTRE
@@ -5,7 +5,14 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import com.rissani.connect.security.PrincipalCacheListener;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 import org.springframework.security.core.GrantedAuthority;
@@ -17,22 +24,34 @@ import java.util.Collection;
 import java.util.List;
 
 @Entity
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_created_at_id", columnList = "created_at, id"),
+        @Index(name = "idx_users_statut_created_at", columnList = "statut, created_at, id"),
+        @Index(name = "idx_users_filiere_created_at", columnList = "filiere_bac, created_at, id"),
+        @Index(name = "idx_users_annee_created_at", columnList = "annee_bac, created_at, id"),
+        @Index(name = "idx_users_specialite", columnList = "specialite"),
+        @Index(name = "idx_users_nom", columnList = "nom"),
+        @Index(name = "idx_users_prenom", columnList = "prenom")
+})
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@EntityListeners(AuditingEntityListener.class)
+@EntityListeners({AuditingEntityListener.class, PrincipalCacheListener.class})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
 public class User implements UserDetails {
 
     @Id
-    @Column(length = 36)
+    @JavaType(BinaryUuidJavaType.class)
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(length = 16)
     private String id;
 
     @PrePersist
     public void prePersist() {
         if (id == null) {
-            id = java.util.UUID.randomUUID().toString();
+            id = UuidV7.nextString();
         }
     }
 
@@ -75,6 +94,12 @@ public class User implements UserDetails {
     @Column(name = "created_at", nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
+    // Incrémentée à chaque modification : sert d'ETag et de verrou optimiste
+    @Version
+    @Column(nullable = false)
+    @ColumnDefault("0")
+    private Long version;
+
     @ManyToMany(mappedBy = "participants")
     private List<Event> events;
 
@@ -0,0 +1,11 @@
+package com.rissani.connect.exception;
+
+/**
+ * Ressource saturée : renvoyée en 503 avec Retry-After, le client peut réessayer.
+ */
+public class ServiceUnavailableException extends RuntimeException {
+
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,17 @@
+package com.rissani.connect.exception;
+
+import lombok.Getter;
+
+/**
+ * Limite de débit atteinte : renvoyée en 429 avec Retry-After.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
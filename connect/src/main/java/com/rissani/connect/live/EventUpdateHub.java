@@ -0,0 +1,355 @@
+package com.rissani.connect.live;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rissani.connect.dto.EventResponse;
+import com.rissani.connect.dto.EventUpdate;
+import com.rissani.connect.dto.LiveUpdateStats;
+import com.rissani.connect.exception.ServiceUnavailableException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Mises à jour en direct des événements en Server-Sent Events (GET /api/events/stream) : création,
+ * suppression, arrivée ou départ d'un participant, publiés après commit sous forme de deltas compacts.
+ * Chaque delta est sérialisé une seule fois puis déposé dans la file bornée de chaque abonné ; chaque file
+ * est vidée par son propre thread virtuel (au plus un par abonné), tout ce qui attend partant en une
+ * seule écriture.
+ * Un client lent ne freine ni les services ni les autres abonnés : son écriture bloquée n'occupe que son
+ * thread virtuel, les deltas opposés en attente (joined puis left du même utilisateur) s'annulent, et une
+ * file pleine est remplacée par un unique message « resync » qui demande au client de recharger la liste.
+ * Un client bloqué en écriture au-delà de write-timeout est retiré. Le client (subscribeToEventUpdates,
+ * lecture par fetch) se reconnecte avec une attente croissante et recharge la liste à chaque « ready ».
+ */
+@Slf4j
+@Component
+public class EventUpdateHub {
+
+    static final String RESYNC = "resync";
+    private static final String READY = "ready";
+    private static final String HEARTBEAT = ":\n\n";
+
+    private final ObjectMapper objectMapper;
+    private final int maxSubscribers;
+    private final int clientBuffer;
+    private final Duration writeTimeout;
+    private final Duration emitterTimeout;
+    private final ExecutorService senders;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final AtomicLong sequence = new AtomicLong();
+    private final LongAdder published = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+    private final LongAdder resyncs = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    public EventUpdateHub(
+            ObjectMapper objectMapper,
+            @Value("${app.live.max-subscribers:10000}") int maxSubscribers,
+            @Value("${app.live.client-buffer:256}") int clientBuffer,
+            @Value("${app.live.write-timeout:10s}") Duration writeTimeout,
+            @Value("${app.live.emitter-timeout:30m}") Duration emitterTimeout
+    ) {
+        this.objectMapper = objectMapper;
+        this.maxSubscribers = maxSubscribers;
+        this.clientBuffer = clientBuffer;
+        this.writeTimeout = writeTimeout;
+        this.emitterTimeout = emitterTimeout;
+        // Au plus un vidage planifié par abonné, donc au plus un thread virtuel par abonné
+        this.senders = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("live-sender-", 0).factory());
+    }
+
+    // ============ ABONNEMENT ============
+
+    public SseEmitter subscribe() {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new ServiceUnavailableException("Trop de connexions en direct, veuillez réessayer plus tard");
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter);
+        emitter.onCompletion(() -> subscribers.remove(subscriber));
+        emitter.onTimeout(() -> subscribers.remove(subscriber));
+        emitter.onError(e -> subscribers.remove(subscriber));
+
+        // Inscrit avant le premier message, mais retenu : les deltas publiés d'ici là sont mis en file
+        // sans planifier d'envoi, pour qu'aucun ne tombe entre « ready » et l'inscription
+        subscribers.add(subscriber);
+
+        // Premier message : le client charge la liste à réception, les deltas suivants s'y appliquent
+        // (un delta déjà reflété par la liste est réappliqué sans effet). Envoyé ici, il est écrit par le
+        // thread de la requête, qui valide donc la réponse (en-têtes compris) avant toute écriture des
+        // threads d'envoi.
+        try {
+            emitter.send(SseEmitter.event().name(READY).data("{\"seq\":" + sequence.get() + "}"));
+        } catch (IOException e) {
+            subscribers.remove(subscriber);
+            throw new IllegalStateException(e);
+        }
+        if (subscriber.release()) {
+            senders.execute(() -> drain(subscriber));
+        }
+        return emitter;
+    }
+
+    // ============ PUBLICATION (après commit) ============
+
+    public void eventCreated(EventResponse event) {
+        afterCommit(() -> publish(EventUpdate.builder().type(EventUpdate.CREATED).eventId(event.getId()).event(event).build()));
+    }
+
+    public void eventDeleted(String eventId) {
+        afterCommit(() -> publish(EventUpdate.builder().type(EventUpdate.DELETED).eventId(eventId).build()));
+    }
+
+    public void participantJoined(String eventId, String userId) {
+        afterCommit(() -> publish(EventUpdate.builder().type(EventUpdate.JOINED).eventId(eventId).userId(userId).build()));
+    }
+
+    public void participantLeft(String eventId, String userId) {
+        afterCommit(() -> publish(EventUpdate.builder().type(EventUpdate.LEFT).eventId(eventId).userId(userId).build()));
+    }
+
+    void publish(EventUpdate update) {
+        update.setSeq(sequence.incrementAndGet());
+        Frame frame = new Frame(update.getType(), update.getEventId(), update.getUserId(), render(update));
+        published.increment();
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, frame);
+        }
+    }
+
+    private void offer(Subscriber subscriber, Frame frame) {
+        if (subscriber.offer(frame)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private String render(EventUpdate update) {
+        try {
+            return "id:" + update.getSeq() + "\nevent:" + update.getType()
+                    + "\ndata:" + objectMapper.writeValueAsString(update) + "\n\n";
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // ============ ENVOI ============
+
+    private void drain(Subscriber subscriber) {
+        String batch;
+        while ((batch = subscriber.takeBatch()) != null) {
+            subscriber.writingSince = System.nanoTime();
+            try {
+                subscriber.emitter.send(Set.of(new ResponseBodyEmitter.DataWithMediaType(batch, MediaType.TEXT_PLAIN)));
+            } catch (Exception e) {
+                // Client parti : la file n'est plus replanifiée
+                subscribers.remove(subscriber);
+                subscriber.close();
+                complete(subscriber);
+                return;
+            } finally {
+                subscriber.writingSince = 0;
+            }
+        }
+        if (subscriber.isClosed()) {
+            complete(subscriber);
+        }
+    }
+
+    /**
+     * Commentaire SSE périodique pour détecter les connexions mortes (et traverser les proxys qui coupent
+     * les flux inactifs) ; déconnecte les clients bloqués en écriture depuis plus de write-timeout.
+     */
+    @Scheduled(fixedDelayString = "${app.live.heartbeat-interval:PT25S}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        for (Subscriber subscriber : subscribers) {
+            long since = subscriber.writingSince;
+            if (since != 0 && now - since > writeTimeout.toNanos()) {
+                // Le thread bloqué détient le verrou de l'émetteur : il terminera lui-même le flux quand
+                // son écriture aboutira ou échouera (délai d'écriture du conteneur) ; ici on libère la file
+                evicted.increment();
+                subscribers.remove(subscriber);
+                subscriber.close();
+            } else {
+                offer(subscriber, new Frame(null, null, null, HEARTBEAT));
+            }
+        }
+    }
+
+    private void complete(Subscriber subscriber) {
+        try {
+            subscriber.emitter.complete();
+        } catch (Exception e) {
+            log.debug("Fermeture d'un flux SSE : {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        for (Subscriber subscriber : subscribers) {
+            subscriber.close();
+            if (subscriber.writingSince == 0) {
+                complete(subscriber);
+            }
+        }
+        subscribers.clear();
+    }
+
+    public LiveUpdateStats stats() {
+        return LiveUpdateStats.builder()
+                .subscribers(subscribers.size())
+                .maxSubscribers(maxSubscribers)
+                .published(published.sum())
+                .coalesced(coalesced.sum())
+                .resyncs(resyncs.sum())
+                .evicted(evicted.sum())
+                .lastSequence(sequence.get())
+                .build();
+    }
+
+    private static void afterCommit(Runnable publication) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publication.run();
+                }
+            });
+        } else {
+            publication.run();
+        }
+    }
+
+    // Delta déjà rendu au format SSE ; type null pour un battement de cœur
+    private record Frame(String type, String eventId, String userId, String text) {
+
+        boolean cancels(Frame other) {
+            return Objects.equals(eventId, other.eventId) && Objects.equals(userId, other.userId)
+                    && (EventUpdate.JOINED.equals(type) && EventUpdate.LEFT.equals(other.type)
+                    || EventUpdate.LEFT.equals(type) && EventUpdate.JOINED.equals(other.type));
+        }
+    }
+
+    private final class Subscriber {
+
+        final SseEmitter emitter;
+        private final ArrayDeque<Frame> pending = new ArrayDeque<>();
+        private boolean resync;
+        // Vrai à la création : aucun envoi tant que « ready » n'est pas écrit (voir release)
+        private boolean scheduled = true;
+        private boolean closed;
+        volatile long writingSince;
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        /**
+         * @return true si un vidage doit être planifié
+         */
+        synchronized boolean offer(Frame frame) {
+            if (closed) {
+                return false;
+            }
+            if (frame.type() == null) {
+                // Battement inutile si des données partent déjà
+                if (scheduled) {
+                    return false;
+                }
+                pending.add(frame);
+            } else if (!resync && !coalesce(frame)) {
+                if (pending.size() >= clientBuffer) {
+                    pending.clear();
+                    resync = true;
+                    resyncs.increment();
+                } else {
+                    pending.add(frame);
+                }
+            }
+            if (scheduled) {
+                return false;
+            }
+            scheduled = true;
+            return true;
+        }
+
+        // true si le delta est absorbé par un delta en attente
+        private boolean coalesce(Frame frame) {
+            if (EventUpdate.DELETED.equals(frame.type())) {
+                // Les deltas en attente d'un événement supprimé sont inutiles
+                int before = pending.size();
+                pending.removeIf(f -> frame.eventId().equals(f.eventId()));
+                coalesced.add(before - pending.size());
+                return false;
+            }
+            for (Iterator<Frame> it = pending.descendingIterator(); it.hasNext(); ) {
+                if (it.next().cancels(frame)) {
+                    it.remove();
+                    coalesced.add(2);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Fin de la retenue initiale : true si des deltas sont arrivés entre-temps et qu'un vidage
+         * doit être planifié.
+         */
+        synchronized boolean release() {
+            scheduled = !closed && (resync || !pending.isEmpty());
+            return scheduled;
+        }
+
+        synchronized void close() {
+            closed = true;
+            resync = false;
+            pending.clear();
+        }
+
+        synchronized boolean isClosed() {
+            return closed;
+        }
+
+        synchronized String takeBatch() {
+            if (closed) {
+                return null;
+            }
+            if (resync) {
+                resync = false;
+                return "event:" + RESYNC + "\ndata:{\"seq\":" + sequence.get() + "}\n\n";
+            }
+            if (pending.isEmpty()) {
+                scheduled = false;
+                return null;
+            }
+            StringBuilder batch = new StringBuilder();
+            for (Frame frame; (frame = pending.poll()) != null; ) {
+                batch.append(frame.text());
+            }
+            return batch.toString();
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.rissani.connect.metrics;
+
+import io.micrometer.common.KeyValue;
+import io.micrometer.common.KeyValues;
+import org.springframework.http.server.observation.DefaultServerRequestObservationConvention;
+import org.springframework.http.server.observation.ServerRequestObservationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Ajoute la méthode de contrôleur aux tags de http.server.requests : un timer (avec histogramme)
+ * par méthode, en plus des tags standard method / uri / status.
+ */
+@Component
+public class HandlerObservationConvention extends DefaultServerRequestObservationConvention {
+
+    @Override
+    public KeyValues getLowCardinalityKeyValues(ServerRequestObservationContext context) {
+        return super.getLowCardinalityKeyValues(context)
+                .and(KeyValue.of(HandlerTags.KEY, HandlerTags.of(context.getCarrier())));
+    }
+}
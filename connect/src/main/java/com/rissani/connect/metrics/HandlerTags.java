@@ -0,0 +1,28 @@
+package com.rissani.connect.metrics;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Valeur du tag « handler » : méthode de contrôleur qui a traité la requête (UserController.searchUsers).
+ */
+final class HandlerTags {
+
+    static final String KEY = "handler";
+    static final String NONE = "none";
+
+    private HandlerTags() {
+    }
+
+    static String of(Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+        }
+        return NONE;
+    }
+
+    static String of(HttpServletRequest request) {
+        return of(request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE));
+    }
+}
@@ -0,0 +1,56 @@
+package com.rissani.connect.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Nombre de requêtes SQL par requête HTTP, par méthode de contrôleur (hibernate.statements.per.request).
+ * Hibernate appelle l'inspecteur à chaque préparation ; le compteur vit dans les attributs de la requête,
+ * filtres compris (authentification). Les requêtes SQL hors thread de requête (export en flux,
+ * tâches planifiées) ne sont pas comptées.
+ */
+@Component
+public class RequestStatementMetrics implements StatementInspector, HandlerInterceptor {
+
+    private static final String COUNTER_ATTRIBUTE = RequestStatementMetrics.class.getName() + ".count";
+
+    private final MeterRegistry meterRegistry;
+
+    public RequestStatementMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public String inspect(String sql) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            int[] count = (int[]) attributes.getAttribute(COUNTER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+            if (count == null) {
+                attributes.setAttribute(COUNTER_ATTRIBUTE, new int[]{1}, RequestAttributes.SCOPE_REQUEST);
+            } else {
+                count[0]++;
+            }
+        }
+        return sql;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        int[] count = (int[]) request.getAttribute(COUNTER_ATTRIBUTE);
+        DistributionSummary.builder("hibernate.statements.per.request")
+                .description("Requêtes SQL préparées par requête HTTP")
+                .baseUnit("statements")
+                .tag(HandlerTags.KEY, HandlerTags.of(handler))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(count == null ? 0 : count[0]);
+    }
+}
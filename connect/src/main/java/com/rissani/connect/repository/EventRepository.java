@@ -2,28 +2,182 @@ package com.rissani.connect.repository;
 
 
 import com.rissani.connect.entity.Event;
+import com.rissani.connect.entity.BinaryUuidJavaType;
+import com.rissani.connect.repository.projection.EventListingRow;
+import com.rissani.connect.repository.projection.EventParticipantRow;
+import com.rissani.connect.repository.projection.EventTypeCount;
+import com.rissani.connect.repository.projection.EventsRevision;
+import com.rissani.connect.repository.projection.UpcomingEventRow;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
-public interface EventRepository extends JpaRepository<Event, String> {
+public interface EventRepository extends JpaRepository<Event, String>, JpaSpecificationExecutor<Event> {
+
+    String LISTING_ROW = "SELECT new com.rissani.connect.repository.projection.EventListingRow("
+            + "e.id, e.titre, e.description, e.date, e.lieu, e.type, e.capacite, e.createdBy.id, e.createdAt) ";
+
+    /**
+     * Espace de synchronisation des requêtes natives de participation. Sans lui, Hibernate ne sait pas
+     * quelles tables elles touchent et vide tout le cache de second niveau à chaque inscription ;
+     * EventCacheInvalidator évince à la place l'événement concerné.
+     */
+    String PARTICIPATION_SPACE = "event_participation";
 
     List<Event> findByType(Event.TypeEvent type);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Event> findByDateAfter(LocalDateTime date);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     List<Event> findByDateBefore(LocalDateTime date);
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     @Query("SELECT e FROM Event e WHERE e.date >= :startDate AND e.date <= :endDate")
     List<Event> findByDateBetween(@Param("startDate") LocalDateTime startDate,
                                   @Param("endDate") LocalDateTime endDate);
 
     @Query("SELECT e FROM Event e JOIN e.participants p WHERE p.id = :userId")
     List<Event> findEventsByParticipantId(@Param("userId") String userId);
+
+    // ============ PARTICIPATION ============
+    // Requêtes natives : les identifiants sont liés sous leur forme BINARY(16), les surcharges String convertissent
+
+    /**
+     * Inscrit l'utilisateur si l'événement existe : 0 ligne si l'événement est inconnu,
+     * violation de uk_event_participants_event_user s'il participe déjà.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = PARTICIPATION_SPACE))
+    @Modifying
+    @Transactional
+    @Query(value = "INSERT INTO event_participants (event_id, user_id) "
+            + "SELECT e.id, :userId FROM events e WHERE e.id = :eventId", nativeQuery = true)
+    int insertParticipant(@Param("eventId") byte[] eventId, @Param("userId") byte[] userId);
+
+    default int insertParticipant(String eventId, String userId) {
+        return insertParticipant(BinaryUuidJavaType.toBytes(eventId), BinaryUuidJavaType.toBytes(userId));
+    }
+
+    @Query(value = "SELECT COUNT(*) FROM event_participants WHERE event_id = :eventId AND user_id = :userId",
+            nativeQuery = true)
+    long countParticipant(@Param("eventId") byte[] eventId, @Param("userId") byte[] userId);
+
+    default long countParticipant(String eventId, String userId) {
+        return countParticipant(BinaryUuidJavaType.toBytes(eventId), BinaryUuidJavaType.toBytes(userId));
+    }
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = PARTICIPATION_SPACE))
+    @Modifying
+    @Transactional
+    @Query(value = "DELETE FROM event_participants WHERE event_id = :eventId AND user_id = :userId",
+            nativeQuery = true)
+    int deleteParticipant(@Param("eventId") byte[] eventId, @Param("userId") byte[] userId);
+
+    default int deleteParticipant(String eventId, String userId) {
+        return deleteParticipant(BinaryUuidJavaType.toBytes(eventId), BinaryUuidJavaType.toBytes(userId));
+    }
+
+    /**
+     * Réserve une place si l'événement n'est pas complet. Verrouille la ligne de l'événement
+     * (et elle seule) jusqu'à la fin de la transaction.
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = PARTICIPATION_SPACE))
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE events SET nombre_participants = nombre_participants + 1, version = version + 1 "
+            + "WHERE id = :eventId AND (capacite IS NULL OR nombre_participants < capacite)", nativeQuery = true)
+    int reserveSeat(@Param("eventId") byte[] eventId);
+
+    default int reserveSeat(String eventId) {
+        return reserveSeat(BinaryUuidJavaType.toBytes(eventId));
+    }
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = PARTICIPATION_SPACE))
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE events SET nombre_participants = nombre_participants - 1, version = version + 1 "
+            + "WHERE id = :eventId AND nombre_participants > 0", nativeQuery = true)
+    int releaseSeat(@Param("eventId") byte[] eventId);
+
+    default int releaseSeat(String eventId) {
+        return releaseSeat(BinaryUuidJavaType.toBytes(eventId));
+    }
+
+    /**
+     * Change la version sans toucher au compteur (promotion depuis la liste d'attente).
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = PARTICIPATION_SPACE))
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE events SET version = version + 1 WHERE id = :eventId", nativeQuery = true)
+    int touch(@Param("eventId") byte[] eventId);
+
+    default int touch(String eventId) {
+        return touch(BinaryUuidJavaType.toBytes(eventId));
+    }
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT e FROM Event e WHERE e.id = :id")
+    Optional<Event> findByIdForUpdate(@Param("id") String id);
+
+    // Un compteur NULL (colonne ajoutée sans valeur par défaut) ne vérifie pas <> : il est repris explicitement
+    @Modifying
+    @Transactional
+    @Query(value = "UPDATE events e SET nombre_participants = "
+            + "(SELECT COUNT(*) FROM event_participants p WHERE p.event_id = e.id), version = version + 1 "
+            + "WHERE nombre_participants IS NULL "
+            + "OR nombre_participants <> (SELECT COUNT(*) FROM event_participants p WHERE p.event_id = e.id)",
+            nativeQuery = true)
+    int resyncParticipantCounts();
+
+    // ============ STATISTIQUES ============
+
+    @Query("SELECT new com.rissani.connect.repository.projection.UpcomingEventRow(e.id, e.type, e.date) "
+            + "FROM Event e WHERE e.date >= :now")
+    List<UpcomingEventRow> findUpcomingRows(@Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.rissani.connect.repository.projection.EventTypeCount(e.type, COUNT(e)) "
+            + "FROM Event e WHERE e.date < :now GROUP BY e.type")
+    List<EventTypeCount> countPastByType(@Param("now") LocalDateTime now);
+
+    @Query(value = "SELECT COUNT(*) FROM event_participants", nativeQuery = true)
+    long countParticipations();
+
+    // ============ VERSIONS (ETag) ============
+
+    @Query("SELECT e.version FROM Event e WHERE e.id = :id")
+    Optional<Long> findVersionById(@Param("id") String id);
+
+    /**
+     * Révision de la table : une suppression change le nombre, une modification la somme des versions,
+     * une création la date de création maximale.
+     */
+    @Query("SELECT new com.rissani.connect.repository.projection.EventsRevision("
+            + "COUNT(e), COALESCE(SUM(e.version), 0L), MAX(e.createdAt)) FROM Event e")
+    EventsRevision findRevision();
+
+    // ============ READ MODELS (listes) ============
+
+    @Query(LISTING_ROW + "FROM Event e JOIN e.participants p WHERE p.id = :userId ORDER BY e.date")
+    List<EventListingRow> findListingRowsByParticipantId(@Param("userId") String userId);
+
+    @Query("SELECT new com.rissani.connect.repository.projection.EventParticipantRow(e.id, p.id) "
+            + "FROM Event e JOIN e.participants p WHERE e.id IN :eventIds")
+    List<EventParticipantRow> findParticipantRows(@Param("eventIds") Collection<String> eventIds);
 }
 
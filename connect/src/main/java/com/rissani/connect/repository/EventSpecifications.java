@@ -0,0 +1,60 @@
+package com.rissani.connect.repository;
+
+import com.rissani.connect.dto.EventSearchRequest;
+import com.rissani.connect.entity.Event;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class EventSpecifications {
+
+    private EventSpecifications() {
+    }
+
+    /**
+     * Filtres de la liste des événements : égalité sur le type puis intervalle sur la date,
+     * soit un parcours de plage de idx_events_type_date (ou idx_events_date sans type).
+     */
+    public static Specification<Event> matches(EventSearchRequest request) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (request.getType() != null && !request.getType().isBlank()) {
+                predicates.add(cb.equal(root.get("type"), parseType(request.getType())));
+            }
+            if (request.getFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("date"), request.getFrom()));
+            }
+            if (request.getTo() != null) {
+                predicates.add(cb.lessThan(root.get("date"), request.getTo()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Lignes strictement après le curseur dans l'ordre (date ASC, id ASC).
+     */
+    public static Specification<Event> after(KeysetCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(
+                cb.greaterThan(root.get("date"), cursor.timestamp()),
+                cb.and(
+                        cb.equal(root.get("date"), cursor.timestamp()),
+                        cb.greaterThan(root.get("id"), cursor.id())
+                )
+        );
+    }
+
+    private static Event.TypeEvent parseType(String type) {
+        try {
+            return Event.TypeEvent.valueOf(type.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Type d'événement inconnu : " + type);
+        }
+    }
+}
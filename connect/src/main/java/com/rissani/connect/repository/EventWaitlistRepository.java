@@ -0,0 +1,36 @@
+package com.rissani.connect.repository;
+
+import com.rissani.connect.entity.EventWaitlistEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+// Requêtes JPQL explicites : exécutées sous le verrou de l'événement, leur plan est mis en cache par Hibernate
+@Repository
+public interface EventWaitlistRepository extends JpaRepository<EventWaitlistEntry, Long> {
+
+    @Query("SELECT w FROM EventWaitlistEntry w WHERE w.eventId = :eventId ORDER BY w.id LIMIT 1")
+    Optional<EventWaitlistEntry> findFirstByEventIdOrderByIdAsc(@Param("eventId") String eventId);
+
+    @Query("SELECT w FROM EventWaitlistEntry w WHERE w.eventId = :eventId AND w.userId = :userId")
+    Optional<EventWaitlistEntry> findByEventIdAndUserId(@Param("eventId") String eventId,
+                                                        @Param("userId") String userId);
+
+    @Query("SELECT COUNT(w) FROM EventWaitlistEntry w WHERE w.eventId = :eventId AND w.id < :id")
+    long countByEventIdAndIdLessThan(@Param("eventId") String eventId, @Param("id") Long id);
+
+    @Query("SELECT COUNT(w) FROM EventWaitlistEntry w WHERE w.eventId = :eventId")
+    long countByEventId(@Param("eventId") String eventId);
+
+    @Modifying
+    @Query("DELETE FROM EventWaitlistEntry w WHERE w.eventId = :eventId AND w.userId = :userId")
+    int deleteByEventIdAndUserId(@Param("eventId") String eventId, @Param("userId") String userId);
+
+    @Modifying
+    @Query("DELETE FROM EventWaitlistEntry w WHERE w.eventId = :eventId")
+    int deleteByEventId(@Param("eventId") String eventId);
+}
@@ -1,16 +1,57 @@
 package com.rissani.connect.repository;
 
 import com.rissani.connect.entity.User;
+import com.rissani.connect.repository.projection.UserDimensionCount;
+import com.rissani.connect.repository.projection.UserExportRow;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, String> {
+public interface UserRepository extends JpaRepository<User, String>, JpaSpecificationExecutor<User> {
 
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<User> findByEmail(String email);
 
+    // Avatars hérités stockés en data URL dans la colonne, à déplacer vers le stockage de fichiers
+    @Query("SELECT u.id FROM User u WHERE u.avatar LIKE 'data:%'")
+    List<String> findIdsWithInlineAvatar();
+
+    /**
+     * Lecture en flux pour l'export : curseur en avant seulement, par lots de 500 lignes, sans entité
+     * gérée ni cache. À consommer dans une transaction et à fermer.
+     */
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    @Query("SELECT new com.rissani.connect.repository.projection.UserExportRow(u.id, u.nom, u.prenom, u.email, "
+            + "u.numTelephone, u.role, u.sexe, u.anneeBac, u.filiereBac, u.statut, u.specialite, u.avatar, u.createdAt) "
+            + "FROM User u ORDER BY u.createdAt, u.id")
+    Stream<UserExportRow> streamExportRows();
+
+    @Query("SELECT u.email FROM User u WHERE u.email IN :emails")
+    List<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
+    @Query("SELECT new com.rissani.connect.repository.projection.UserDimensionCount("
+            + "u.statut, u.sexe, u.filiereBac, u.anneeBac, COUNT(u)) "
+            + "FROM User u GROUP BY u.statut, u.sexe, u.filiereBac, u.anneeBac")
+    List<UserDimensionCount> countByDimensions();
+
+    @Query("SELECT u.version FROM User u WHERE u.id = :id")
+    Optional<Long> findVersionById(@Param("id") String id);
+
     boolean existsByEmail(String email);
 
     default void createAdminIfNotExists(org.springframework.security.crypto.password.PasswordEncoder passwordEncoder) {
@@ -0,0 +1,84 @@
+package com.rissani.connect.repository;
+
+import com.rissani.connect.dto.UserSearchRequest;
+import com.rissani.connect.entity.User;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public final class UserSpecifications {
+
+    private UserSpecifications() {
+    }
+
+    /**
+     * Filtres de l'annuaire. Les recherches textuelles sont des préfixes (LIKE 'abc%')
+     * pour rester utilisables par les index sur nom / prenom / specialite.
+     */
+    public static Specification<User> matches(UserSearchRequest request) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (request.getStatut() != null) {
+                predicates.add(cb.equal(root.get("statut"), parseStatut(request.getStatut())));
+            }
+            if (request.getFiliereBac() != null) {
+                predicates.add(cb.equal(root.get("filiereBac"), request.getFiliereBac()));
+            }
+            if (request.getAnneeBac() != null) {
+                predicates.add(cb.equal(root.get("anneeBac"), request.getAnneeBac()));
+            }
+            if (hasText(request.getSpecialite())) {
+                predicates.add(cb.like(root.get("specialite"), prefix(request.getSpecialite()), '\\'));
+            }
+            if (hasText(request.getQ())) {
+                // Chaque mot doit préfixer le nom ou le prénom ("Ben Aissa", "Aissa Ben"...)
+                for (String word : request.getQ().trim().split("\\s+")) {
+                    String pattern = prefix(word);
+                    predicates.add(cb.or(
+                            cb.like(root.get("nom"), pattern, '\\'),
+                            cb.like(root.get("prenom"), pattern, '\\')
+                    ));
+                }
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Lignes strictement après le curseur dans l'ordre (createdAt DESC, id DESC).
+     */
+    public static Specification<User> after(KeysetCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.or(
+                cb.lessThan(root.get("createdAt"), cursor.timestamp()),
+                cb.and(
+                        cb.equal(root.get("createdAt"), cursor.timestamp()),
+                        cb.lessThan(root.get("id"), cursor.id())
+                )
+        );
+    }
+
+    private static User.Statut parseStatut(String statut) {
+        try {
+            return User.Statut.valueOf(statut.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            throw new RuntimeException("Statut inconnu : " + statut);
+        }
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+
+    private static String prefix(String value) {
+        return value.trim()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+    }
+}
@@ -0,0 +1,21 @@
+package com.rissani.connect.repository.projection;
+
+import com.rissani.connect.entity.Event;
+
+import java.time.LocalDateTime;
+
+/**
+ * Colonnes scalaires d'un événement pour les listes, sans charger le créateur ni les participants.
+ */
+public record EventListingRow(
+        String id,
+        String titre,
+        String description,
+        LocalDateTime date,
+        String lieu,
+        Event.TypeEvent type,
+        Integer capacite,
+        String createdById,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,7 @@
+package com.rissani.connect.repository.projection;
+
+/**
+ * Une ligne de la table de jointure event_participants.
+ */
+public record EventParticipantRow(String eventId, String userId) {
+}
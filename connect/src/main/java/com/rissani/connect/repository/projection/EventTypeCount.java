@@ -0,0 +1,6 @@
+package com.rissani.connect.repository.projection;
+
+import com.rissani.connect.entity.Event;
+
+public record EventTypeCount(Event.TypeEvent type, long count) {
+}
@@ -0,0 +1,10 @@
+package com.rissani.connect.repository.projection;
+
+import java.time.LocalDateTime;
+
+/**
+ * Empreinte de la table events, calculée par une seule agrégation : change dès qu'un événement
+ * est créé, modifié (participations comprises) ou supprimé.
+ */
+public record EventsRevision(long count, long versionSum, LocalDateTime lastCreatedAt) {
+}
@@ -0,0 +1,8 @@
+package com.rissani.connect.repository.projection;
+
+import com.rissani.connect.entity.Event;
+
+import java.time.LocalDateTime;
+
+public record UpcomingEventRow(String id, Event.TypeEvent type, LocalDateTime date) {
+}
@@ -0,0 +1,9 @@
+package com.rissani.connect.repository.projection;
+
+import com.rissani.connect.entity.User;
+
+/**
+ * Nombre d'utilisateurs par combinaison des axes du tableau de bord, en une seule agrégation.
+ */
+public record UserDimensionCount(User.Statut statut, User.Sexe sexe, String filiereBac, Integer anneeBac, long count) {
+}
@@ -0,0 +1,25 @@
+package com.rissani.connect.repository.projection;
+
+import com.rissani.connect.entity.User;
+
+import java.time.LocalDateTime;
+
+/**
+ * Colonnes publiques d'un utilisateur pour l'export, sans mot de passe ni entité gérée.
+ */
+public record UserExportRow(
+        String id,
+        String nom,
+        String prenom,
+        String email,
+        String numTelephone,
+        User.Role role,
+        User.Sexe sexe,
+        Integer anneeBac,
+        String filiereBac,
+        User.Statut statut,
+        String specialite,
+        String avatar,
+        LocalDateTime createdAt
+) {
+}
@@ -0,0 +1,71 @@
+package com.rissani.connect.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Normalisation et découpage en n-grammes des textes indexés.
+ * "Ben Aïssa", "BENAISSA" et "benaïssa" produisent des n-grammes largement communs.
+ */
+final class SearchText {
+
+    static final char WORD_START = '$';
+
+    private static final Pattern DIACRITICS = Pattern.compile("\\p{M}+");
+    private static final Pattern SEPARATORS = Pattern.compile("[^a-z0-9]+");
+
+    private SearchText() {
+    }
+
+    /**
+     * Minuscules, accents supprimés (é → e, ï → i, ç → c), ligatures dépliées, tout le reste devient séparateur.
+     */
+    static List<String> words(String text) {
+        List<String> words = new ArrayList<>();
+        if (text == null || text.isBlank()) {
+            return words;
+        }
+        String folded = Normalizer.normalize(text.toLowerCase(Locale.ROOT), Normalizer.Form.NFD);
+        folded = DIACRITICS.matcher(folded).replaceAll("")
+                .replace("œ", "oe")
+                .replace("æ", "ae");
+        for (String word : SEPARATORS.split(folded)) {
+            if (!word.isEmpty()) {
+                words.add(word);
+            }
+        }
+        return words;
+    }
+
+    /**
+     * Trigrammes de chaque mot (préfixés par un marqueur de début), le bigramme de tête
+     * pour les saisies d'une lettre, et les trigrammes des mots accolés pour que
+     * "ben aissa" et "benaissa" se retrouvent.
+     */
+    static Set<String> grams(List<String> words) {
+        Set<String> grams = new LinkedHashSet<>();
+        for (String word : words) {
+            addGrams(grams, WORD_START + word);
+            grams.add(WORD_START + word.substring(0, 1));
+        }
+        if (words.size() > 1) {
+            addGrams(grams, WORD_START + String.join("", words));
+        }
+        return grams;
+    }
+
+    private static void addGrams(Set<String> grams, String padded) {
+        if (padded.length() <= 3) {
+            grams.add(padded);
+            return;
+        }
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package com.rissani.connect.search;
+
+import com.rissani.connect.dto.SearchIndexStats;
+import com.rissani.connect.dto.UserSearchHit;
+import com.rissani.connect.entity.User;
+import com.rissani.connect.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Index inversé en mémoire sur nom, prénom, spécialité et filière des utilisateurs.
+ * Construit au démarrage puis tenu à jour par AuthService.register et UserService.updateProfile ;
+ * les recherches ne touchent jamais la base.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserSearchIndex {
+
+    // Un n-gramme du nom pèse plus qu'un n-gramme de spécialité / filière
+    private static final int NAME_WEIGHT = 2;
+    private static final int FIELD_WEIGHT = 1;
+    private static final String NAME_PREFIX = "n";
+    private static final String FIELD_PREFIX = "f";
+    private static final double PREFIX_BONUS = 0.5;
+
+    private final UserRepository userRepository;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final Map<String, Integer> docByUserId = new HashMap<>();
+    // Les documents supprimés restent en place (null) jusqu'au prochain compactage
+    private final List<IndexedUser> docs = new ArrayList<>();
+    private int deletedDocs;
+    private long lastBuildMillis;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.currentTimeMillis();
+        List<User> users = userRepository.findAll();
+        lock.writeLock().lock();
+        try {
+            clear();
+            users.forEach(this::insert);
+            lastBuildMillis = System.currentTimeMillis() - start;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        SearchIndexStats stats = stats();
+        log.info("Index de recherche construit : {} utilisateurs, {} n-grammes, ~{} Ko en {} ms",
+                stats.getDocuments(), stats.getGrams(), stats.getEstimatedBytes() / 1024, lastBuildMillis);
+    }
+
+    public void upsert(User user) {
+        lock.writeLock().lock();
+        try {
+            remove(user.getId());
+            insert(user);
+            if (deletedDocs > docByUserId.size() / 4 + 64) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<UserSearchHit> search(String query, int limit) {
+        List<String> queryWords = SearchText.words(query);
+        Set<String> queryGrams = SearchText.grams(queryWords);
+        if (queryGrams.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int[] scores = new int[docs.size()];
+            int[] touched = new int[docs.size()];
+            int touchedCount = 0;
+            for (String gram : queryGrams) {
+                touchedCount = accumulate(postings.get(NAME_PREFIX + gram), NAME_WEIGHT, scores, touched, touchedCount);
+                touchedCount = accumulate(postings.get(FIELD_PREFIX + gram), FIELD_WEIGHT, scores, touched, touchedCount);
+            }
+
+            // Au moins la moitié des n-grammes de la requête doivent correspondre (pondérés)
+            int minScore = Math.max(NAME_WEIGHT, queryGrams.size());
+            double maxScore = (double) NAME_WEIGHT * queryGrams.size();
+            String lastWord = queryWords.get(queryWords.size() - 1);
+
+            PriorityQueue<UserSearchHit> best = new PriorityQueue<>(
+                    Comparator.comparingDouble(UserSearchHit::getScore));
+            for (int i = 0; i < touchedCount; i++) {
+                int doc = touched[i];
+                IndexedUser user = docs.get(doc);
+                if (user == null || scores[doc] < minScore) {
+                    continue;
+                }
+                double score = scores[doc] / maxScore + (user.hasNameWordStartingWith(lastWord) ? PREFIX_BONUS : 0);
+                if (best.size() < limit) {
+                    best.add(user.toHit(score));
+                } else if (score > best.peek().getScore()) {
+                    best.poll();
+                    best.add(user.toHit(score));
+                }
+            }
+
+            List<UserSearchHit> hits = new ArrayList<>(best);
+            hits.sort(Comparator.comparingDouble(UserSearchHit::getScore).reversed()
+                    .thenComparing(UserSearchHit::getNom, Comparator.nullsLast(Comparator.naturalOrder())));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public SearchIndexStats stats() {
+        lock.readLock().lock();
+        try {
+            long bytes = 0;
+            long entries = 0;
+            for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+                // entrée HashMap + clé String + tableau d'entiers
+                bytes += 48 + 40 + 2L * entry.getKey().length() + 16 + 4L * entry.getValue().ids.length;
+                entries += entry.getValue().size;
+            }
+            for (IndexedUser user : docs) {
+                bytes += 8 + (user == null ? 0 : user.estimatedBytes());
+            }
+            bytes += docByUserId.size() * 120L;
+            return SearchIndexStats.builder()
+                    .documents(docByUserId.size())
+                    .deletedDocuments(deletedDocs)
+                    .grams(postings.size())
+                    .postings(entries)
+                    .estimatedBytes(bytes)
+                    .lastBuildMillis(lastBuildMillis)
+                    .build();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static int accumulate(Postings list, int weight, int[] scores, int[] touched, int touchedCount) {
+        if (list == null) {
+            return touchedCount;
+        }
+        for (int i = 0; i < list.size; i++) {
+            int doc = list.ids[i];
+            if (scores[doc] == 0) {
+                touched[touchedCount++] = doc;
+            }
+            scores[doc] += weight;
+        }
+        return touchedCount;
+    }
+
+    private void insert(User user) {
+        IndexedUser indexed = IndexedUser.of(user);
+        int doc = docs.size();
+        docs.add(indexed);
+        docByUserId.put(user.getId(), doc);
+        for (String gram : SearchText.grams(indexed.nameWords)) {
+            postings.computeIfAbsent(NAME_PREFIX + gram, k -> new Postings()).add(doc);
+        }
+        for (String gram : SearchText.grams(indexed.fieldWords)) {
+            postings.computeIfAbsent(FIELD_PREFIX + gram, k -> new Postings()).add(doc);
+        }
+    }
+
+    private void remove(String userId) {
+        Integer doc = docByUserId.remove(userId);
+        if (doc != null) {
+            docs.set(doc, null);
+            deletedDocs++;
+        }
+    }
+
+    private void compact() {
+        List<IndexedUser> live = docs.stream().filter(Objects::nonNull).toList();
+        clear();
+        for (IndexedUser user : live) {
+            insert(user.source);
+        }
+    }
+
+    private void clear() {
+        postings.clear();
+        docByUserId.clear();
+        docs.clear();
+        deletedDocs = 0;
+    }
+
+    /**
+     * Liste d'identifiants de documents, croissante par construction (les documents sont ajoutés en fin).
+     */
+    private static final class Postings {
+        private int[] ids = new int[4];
+        private int size;
+
+        void add(int doc) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            ids[size++] = doc;
+        }
+    }
+
+    private record IndexedUser(User source, List<String> nameWords, List<String> fieldWords) {
+
+        static IndexedUser of(User user) {
+            // Copie détachée : l'index ne garde que les champs affichés dans les résultats
+            User copy = User.builder()
+                    .id(user.getId())
+                    .nom(user.getNom())
+                    .prenom(user.getPrenom())
+                    .specialite(user.getSpecialite())
+                    .filiereBac(user.getFiliereBac())
+                    .build();
+            List<String> nameWords = new ArrayList<>(SearchText.words(user.getNom()));
+            nameWords.addAll(SearchText.words(user.getPrenom()));
+            List<String> fieldWords = new ArrayList<>(SearchText.words(user.getSpecialite()));
+            fieldWords.addAll(SearchText.words(user.getFiliereBac()));
+            return new IndexedUser(copy, nameWords, fieldWords);
+        }
+
+        boolean hasNameWordStartingWith(String prefix) {
+            for (String word : nameWords) {
+                if (word.startsWith(prefix)) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        UserSearchHit toHit(double score) {
+            return UserSearchHit.builder()
+                    .id(source.getId())
+                    .nom(source.getNom())
+                    .prenom(source.getPrenom())
+                    .specialite(source.getSpecialite())
+                    .filiereBac(source.getFiliereBac())
+                    .score(score)
+                    .build();
+        }
+
+        long estimatedBytes() {
+            long bytes = 64;
+            for (String value : new String[]{source.getId(), source.getNom(), source.getPrenom(),
+                    source.getSpecialite(), source.getFiliereBac()}) {
+                bytes += value == null ? 0 : 40 + value.length();
+            }
+            for (String word : nameWords) {
+                bytes += 40 + word.length();
+            }
+            for (String word : fieldWords) {
+                bytes += 40 + word.length();
+            }
+            return bytes;
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.rissani.connect.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.rissani.connect.dto.AuthRateLimitStats;
+import com.rissani.connect.exception.TooManyRequestsException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limitation des appels /api/auth par IP et par email, vérifiée avant tout accès base ou hachage BCrypt.
+ * Chaque clé a un seau à jetons (forme GCRA : un seul horodatage, mis à jour par CAS, sans verrou).
+ * Les seaux vivent dans des caches Caffeine bornés ; une clé inactive expire quand son seau serait
+ * de nouveau plein, l'éviction ne fait donc rien perdre.
+ */
+@Component
+public class AuthRateLimiter {
+
+    private final Limit ipLimit;
+    private final Limit emailLimit;
+    private final Cache<String, AtomicLong> byIp;
+    private final Cache<String, AtomicLong> byEmail;
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejectedByIp = new LongAdder();
+    private final LongAdder rejectedByEmail = new LongAdder();
+
+    public AuthRateLimiter(
+            @Value("${security.auth-rate-limit.ip.capacity:20}") int ipCapacity,
+            @Value("${security.auth-rate-limit.ip.refill-period:1m}") Duration ipRefillPeriod,
+            @Value("${security.auth-rate-limit.email.capacity:5}") int emailCapacity,
+            @Value("${security.auth-rate-limit.email.refill-period:1m}") Duration emailRefillPeriod,
+            @Value("${security.auth-rate-limit.max-keys:100000}") long maxKeys
+    ) {
+        this.ipLimit = new Limit(ipCapacity, ipRefillPeriod);
+        this.emailLimit = new Limit(emailCapacity, emailRefillPeriod);
+        this.byIp = buckets(ipLimit, maxKeys);
+        this.byEmail = buckets(emailLimit, maxKeys);
+    }
+
+    private static Cache<String, AtomicLong> buckets(Limit limit, long maxKeys) {
+        return Caffeine.newBuilder()
+                .maximumSize(maxKeys)
+                .expireAfterAccess(limit.refillPeriod())
+                .build();
+    }
+
+    /**
+     * Consomme un jeton pour l'IP puis pour l'email ; lève TooManyRequestsException si l'un est épuisé.
+     */
+    public void check(String clientIp, String email) {
+        long now = System.nanoTime();
+
+        long ipWait = tryAcquire(byIp.get(clientIp, key -> new AtomicLong(now)), ipLimit, now);
+        if (ipWait > 0) {
+            rejectedByIp.increment();
+            throw new TooManyRequestsException("Trop de tentatives, veuillez réessayer plus tard", toSeconds(ipWait));
+        }
+        if (email != null) {
+            String key = email.trim().toLowerCase(Locale.ROOT);
+            long emailWait = tryAcquire(byEmail.get(key, k -> new AtomicLong(now)), emailLimit, now);
+            if (emailWait > 0) {
+                rejectedByEmail.increment();
+                throw new TooManyRequestsException("Trop de tentatives pour ce compte, veuillez réessayer plus tard",
+                        toSeconds(emailWait));
+            }
+        }
+        allowed.increment();
+    }
+
+    /**
+     * GCRA : tat est l'instant théorique où le seau sera plein. On accepte si tat - now reste
+     * sous la tolérance (capacité - 1 intervalles). Retourne 0 si accepté, sinon l'attente en nanosecondes.
+     */
+    private static long tryAcquire(AtomicLong tat, Limit limit, long now) {
+        while (true) {
+            long current = tat.get();
+            long base = Math.max(current, now);
+            long wait = base - now - limit.tolerance();
+            if (wait > 0) {
+                return wait;
+            }
+            if (tat.compareAndSet(current, base + limit.interval())) {
+                return 0;
+            }
+        }
+    }
+
+    private static long toSeconds(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos + 999_999_999L));
+    }
+
+    public AuthRateLimitStats stats() {
+        return AuthRateLimitStats.builder()
+                .trackedIps(byIp.estimatedSize())
+                .trackedEmails(byEmail.estimatedSize())
+                .allowed(allowed.sum())
+                .rejectedByIp(rejectedByIp.sum())
+                .rejectedByEmail(rejectedByEmail.sum())
+                .build();
+    }
+
+    private record Limit(long interval, long tolerance, Duration refillPeriod) {
+
+        Limit(int capacity, Duration refillPeriod) {
+            // Un jeton toutes les refillPeriod / capacity, rafale maximale de capacity jetons
+            this(refillPeriod.toNanos() / capacity, refillPeriod.toNanos() / capacity * (capacity - 1), refillPeriod);
+        }
+    }
+}
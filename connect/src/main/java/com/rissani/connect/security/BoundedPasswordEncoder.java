@@ -0,0 +1,272 @@
+package com.rissani.connect.security;
+
+import com.rissani.connect.dto.PasswordHashingStats;
+import com.rissani.connect.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * BCrypt exécuté sur un pool dédié et borné, pour que les rafales de connexions ne monopolisent
+ * pas le CPU au détriment des autres requêtes. File pleine : rejet immédiat (503) plutôt qu'attente.
+ * Le coût est configurable ; les hachages d'un coût inférieur sont signalés à re-hacher (upgradeEncoding).
+ */
+@Slf4j
+@Component
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final int BATCH_SLICE_SIZE = 16;
+
+    private final BCryptPasswordEncoder delegate;
+    private final int cost;
+    private final ThreadPoolExecutor executor;
+    private final int queueCapacity;
+    private final Duration timeout;
+    private final long calibratedNanos;
+
+    private final Timing hashes;
+    private final Timing verifications;
+    private final LongAdder queueWaitNanos = new LongAdder();
+    private final Timer queueWait;
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder upgrades = new LongAdder();
+
+    public BoundedPasswordEncoder(
+            @Value("${security.password-hashing.bcrypt-cost:10}") int cost,
+            @Value("${security.password-hashing.threads:0}") int threads,
+            @Value("${security.password-hashing.queue-capacity:32}") int queueCapacity,
+            @Value("${security.password-hashing.timeout:5s}") Duration timeout,
+            MeterRegistry meterRegistry
+    ) {
+        this.cost = cost;
+        this.delegate = new BCryptPasswordEncoder(cost);
+        this.queueCapacity = queueCapacity;
+        this.timeout = timeout;
+
+        // 0 : un thread par cœur, BCrypt étant purement CPU
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + counter.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        // Temps BCrypt seul (security.password.hashing) et attente dans la file, avec histogrammes
+        this.hashes = new Timing(hashingTimer(meterRegistry, "encode"));
+        this.verifications = new Timing(hashingTimer(meterRegistry, "matches"));
+        this.queueWait = Timer.builder("security.password.queue.wait")
+                .description("Attente d'un thread de hachage")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        Gauge.builder("security.password.queue.depth", executor, e -> e.getQueue().size())
+                .register(meterRegistry);
+        FunctionCounter.builder("security.password.rejected", rejected, LongAdder::sum)
+                .description("Hachages refusés (file pleine ou délai dépassé)")
+                .register(meterRegistry);
+
+        long start = System.nanoTime();
+        delegate.encode("calibration");
+        this.calibratedNanos = System.nanoTime() - start;
+        log.info("BCrypt coût {} : {} ms par hachage, {} thread(s), file de {}",
+                cost, TimeUnit.NANOSECONDS.toMillis(calibratedNanos), poolSize, queueCapacity);
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> delegate.encode(rawPassword), hashes);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> delegate.matches(rawPassword, encodedPassword), verifications);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        boolean upgrade = delegate.upgradeEncoding(encodedPassword);
+        if (upgrade) {
+            upgrades.increment();
+        }
+        return upgrade;
+    }
+
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords) {
+        return encodeAll(rawPasswords, cost);
+    }
+
+    /**
+     * Hachage en masse (import) sur le même pool, par tranches : l'import n'occupe jamais plus d'une
+     * place par thread, les connexions s'intercalent dans la file. Pas de rejet : si la file est pleine,
+     * on attend qu'elle se libère. Le coût peut différer du coût courant (upgradeEncoding le relèvera).
+     */
+    public List<String> encodeAll(List<? extends CharSequence> rawPasswords, int batchCost) {
+        BCryptPasswordEncoder encoder = batchCost == cost ? delegate : new BCryptPasswordEncoder(batchCost);
+        Semaphore slots = new Semaphore(executor.getMaximumPoolSize());
+        List<Future<List<String>>> slices = new ArrayList<>();
+        try {
+            for (int from = 0; from < rawPasswords.size(); from += BATCH_SLICE_SIZE) {
+                List<? extends CharSequence> slice =
+                        rawPasswords.subList(from, Math.min(from + BATCH_SLICE_SIZE, rawPasswords.size()));
+                slots.acquire();
+                slices.add(submitBlocking(() -> {
+                    try {
+                        List<String> hashed = new ArrayList<>(slice.size());
+                        for (CharSequence raw : slice) {
+                            long start = System.nanoTime();
+                            hashed.add(encoder.encode(raw));
+                            hashes.record(System.nanoTime() - start);
+                        }
+                        return hashed;
+                    } finally {
+                        slots.release();
+                    }
+                }));
+            }
+            List<String> result = new ArrayList<>(rawPasswords.size());
+            for (Future<List<String>> slice : slices) {
+                result.addAll(slice.get());
+            }
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            slices.forEach(slice -> slice.cancel(true));
+            throw new IllegalStateException("Hachage des mots de passe interrompu", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private <T> Future<T> submitBlocking(Callable<T> work) throws InterruptedException {
+        while (true) {
+            try {
+                return executor.submit(work);
+            } catch (RejectedExecutionException e) {
+                Thread.sleep(5);
+            }
+        }
+    }
+
+    private <T> T submit(Callable<T> work, Timing timing) {
+        long submittedAt = System.nanoTime();
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                queueWaitNanos.add(start - submittedAt);
+                queueWait.record(start - submittedAt, TimeUnit.NANOSECONDS);
+                try {
+                    return work.call();
+                } finally {
+                    timing.record(System.nanoTime() - start);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ServiceUnavailableException("Serveur surchargé, veuillez réessayer dans quelques instants");
+        }
+
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new ServiceUnavailableException("Serveur surchargé, veuillez réessayer dans quelques instants");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Hachage du mot de passe interrompu", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    public PasswordHashingStats stats() {
+        long completed = hashes.count.sum() + verifications.count.sum();
+        return PasswordHashingStats.builder()
+                .cost(cost)
+                .threads(executor.getMaximumPoolSize())
+                .activeThreads(executor.getActiveCount())
+                .queueDepth(executor.getQueue().size())
+                .queueCapacity(queueCapacity)
+                .calibratedMillis(toMillis(calibratedNanos))
+                .hashes(hashes.count.sum())
+                .avgHashMillis(hashes.averageMillis())
+                .maxHashMillis(toMillis(hashes.maxNanos.get()))
+                .verifications(verifications.count.sum())
+                .avgVerifyMillis(verifications.averageMillis())
+                .maxVerifyMillis(toMillis(verifications.maxNanos.get()))
+                .avgQueueWaitMillis(completed == 0 ? 0 : toMillis(queueWaitNanos.sum()) / completed)
+                .rejected(rejected.sum())
+                .upgrades(upgrades.sum())
+                .build();
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdownNow();
+    }
+
+    private static Timer hashingTimer(MeterRegistry meterRegistry, String operation) {
+        return Timer.builder("security.password.hashing")
+                .description("Temps de calcul BCrypt")
+                .tag("operation", operation)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private static double toMillis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    private static final class Timing {
+        private final LongAdder count = new LongAdder();
+        private final LongAdder totalNanos = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+        private final Timer timer;
+
+        Timing(Timer timer) {
+            this.timer = timer;
+        }
+
+        void record(long nanos) {
+            timer.record(nanos, TimeUnit.NANOSECONDS);
+            count.increment();
+            totalNanos.add(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        double averageMillis() {
+            long n = count.sum();
+            return n == 0 ? 0 : toMillis(totalNanos.sum()) / n;
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package com.rissani.connect.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.rissani.connect.dto.PrincipalCacheStats;
+import com.rissani.connect.entity.User;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Cache borné (taille + TTL) des utilisateurs authentifiés, indexé par email.
+ * Partagé par le filtre JWT et UserService pour éviter de relire la table users à chaque requête.
+ * Les instances en cache sont détachées : ne pas les modifier, recharger l'entité avant toute écriture.
+ */
+@Component
+public class PrincipalCache {
+
+    private final Cache<String, User> byEmail;
+    // Index secondaire id -> email, pour invalider sans parcourir le cache
+    private final Map<String, String> emailById = new ConcurrentHashMap<>();
+
+    public PrincipalCache(
+            @Value("${security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${security.principal-cache.ttl:5m}") Duration ttl,
+            MeterRegistry meterRegistry
+    ) {
+        this.byEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .evictionListener((String email, User user, RemovalCause cause) -> {
+                    if (user != null) {
+                        emailById.remove(user.getId(), email);
+                    }
+                })
+                .build();
+        // cache.gets{result=hit|miss}, cache.size, cache.evictions... tag cache=principals
+        CaffeineCacheMetrics.monitor(meterRegistry, byEmail, "principals");
+    }
+
+    public Optional<User> get(String email, Function<String, Optional<User>> loader) {
+        return Optional.ofNullable(byEmail.get(email, key -> {
+            User user = loader.apply(key).orElse(null);
+            if (user != null) {
+                emailById.put(user.getId(), key);
+            }
+            return user;
+        }));
+    }
+
+    public void invalidate(User user) {
+        if (user.getEmail() != null) {
+            byEmail.invalidate(user.getEmail());
+        }
+        if (user.getId() != null) {
+            invalidateById(user.getId());
+        }
+    }
+
+    public void invalidateById(String id) {
+        // L'email a pu changer : on purge aussi l'entrée mise en cache sous l'ancien email
+        String email = emailById.remove(id);
+        if (email != null) {
+            byEmail.invalidate(email);
+        }
+    }
+
+    public void invalidateAll() {
+        byEmail.invalidateAll();
+        emailById.clear();
+    }
+
+    public PrincipalCacheStats stats() {
+        CacheStats stats = byEmail.stats();
+        return PrincipalCacheStats.builder()
+                .size(byEmail.estimatedSize())
+                .hits(stats.hitCount())
+                .misses(stats.missCount())
+                .hitRate(stats.hitRate())
+                .evictions(stats.evictionCount())
+                .build();
+    }
+}
@@ -0,0 +1,24 @@
+package com.rissani.connect.security;
+
+import com.rissani.connect.entity.User;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Invalide le cache des principaux dès qu'un utilisateur est modifié ou supprimé,
+ * quel que soit le chemin (profil, admin, changement de rôle).
+ */
+@Component
+@RequiredArgsConstructor
+public class PrincipalCacheListener {
+
+    private final PrincipalCache principalCache;
+
+    @PostUpdate
+    @PostRemove
+    public void evict(User user) {
+        principalCache.invalidate(user);
+    }
+}
@@ -0,0 +1,9 @@
+package com.rissani.connect.security;
+
+import java.time.Instant;
+
+/**
+ * Claims d'un JWT dont la signature et l'expiration ont déjà été vérifiées.
+ */
+public record VerifiedToken(String subject, Instant expiresAt, String role, String userId) {
+}
@@ -5,6 +5,8 @@ import com.rissani.connect.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -15,6 +17,8 @@ public class AdminInitializerService {
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
 
+    // Avant la construction de l'index de recherche et des compteurs admin, qui doivent voir l'admin
+    @Order(Ordered.HIGHEST_PRECEDENCE)
     @EventListener(ApplicationReadyEvent.class)
     public void initAdmin() {
         System.out.println("⏳ Vérification de l'administrateur...");
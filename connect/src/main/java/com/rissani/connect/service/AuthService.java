@@ -6,7 +6,10 @@ import com.rissani.connect.dto.RegisterRequest;
 import com.rissani.connect.dto.UserResponse;
 import com.rissani.connect.entity.User;
 import com.rissani.connect.repository.UserRepository;
+import com.rissani.connect.search.UserSearchIndex;
+import com.rissani.connect.stats.DashboardCounters;
 import com.rissani.connect.security.JwtService;
+import com.rissani.connect.security.PrincipalCache;
 import lombok.RequiredArgsConstructor;
 
 import org.springframework.security.authentication.AuthenticationManager;
@@ -22,6 +25,9 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
     private final AuthenticationManager authenticationManager;
+    private final PrincipalCache principalCache;
+    private final UserSearchIndex userSearchIndex;
+    private final DashboardCounters dashboardCounters;
 
     public AuthResponse register(RegisterRequest request) {
         // Vérifier si l'email existe déjà
@@ -45,6 +51,8 @@ public class AuthService {
                 .build();
 
         userRepository.save(user);
+        userSearchIndex.upsert(user);
+        dashboardCounters.userCreated(user);
 
         // Générer le token JWT
         String jwtToken = jwtService.generateToken(user);
@@ -64,8 +72,8 @@ public class AuthService {
                 )
         );
 
-        // Récupérer l'utilisateur
-        User user = userRepository.findByEmail(request.getEmail())
+        // Récupérer l'utilisateur (déjà chargé en cache par l'authentification)
+        User user = principalCache.get(request.getEmail(), userRepository::findByEmail)
                 .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
 
         // Générer le token JWT
@@ -0,0 +1,72 @@
+package com.rissani.connect.service;
+
+import com.rissani.connect.entity.User;
+import com.rissani.connect.exception.ServiceUnavailableException;
+import com.rissani.connect.repository.UserRepository;
+import com.rissani.connect.storage.AvatarStore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.io.UncheckedIOException;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Déplace au démarrage les avatars hérités (data URL base64 dans users.avatar) vers le stockage de
+ * fichiers ; la colonne ne garde que la clé. Une image illisible est retirée ; sur une erreur passagère
+ * (disque, pas de place de décodage), la ligne est laissée telle quelle et reprise au prochain démarrage.
+ * Sans effet une fois fait.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AvatarMigrationService {
+
+    private final UserRepository userRepository;
+    private final AvatarStore avatarStore;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateInlineAvatars() {
+        List<String> ids = userRepository.findIdsWithInlineAvatar();
+        if (ids.isEmpty()) {
+            return;
+        }
+        int migrated = 0;
+        int deferred = 0;
+        for (String id : ids) {
+            // Un utilisateur à la fois : une seule image décodée en mémoire
+            User user = userRepository.findById(id).orElse(null);
+            if (user == null || user.getAvatar() == null || !user.getAvatar().startsWith("data:")) {
+                continue;
+            }
+            try {
+                user.setAvatar(avatarStore.store(decodeDataUrl(user.getAvatar())));
+                migrated++;
+            } catch (UncheckedIOException | ServiceUnavailableException e) {
+                // Seule copie de l'avatar : ne rien perdre sur une panne de stockage
+                log.warn("Avatar de l'utilisateur {} non déplacé, nouvel essai au prochain démarrage : {}",
+                        id, e.getMessage());
+                deferred++;
+                continue;
+            } catch (RuntimeException e) {
+                log.warn("Avatar illisible retiré pour l'utilisateur {} : {}", id, e.getMessage());
+                user.setAvatar(null);
+            }
+            userRepository.save(user);
+        }
+        log.info("Avatars déplacés vers le stockage de fichiers : {} sur {} ({} reportés)",
+                migrated, ids.size(), deferred);
+    }
+
+    // data:[<type>][;base64],<données>
+    static byte[] decodeDataUrl(String dataUrl) {
+        int comma = dataUrl.indexOf(',');
+        if (comma < 0 || !dataUrl.substring(0, comma).endsWith(";base64")) {
+            throw new RuntimeException("data URL non base64");
+        }
+        return Base64.getMimeDecoder().decode(dataUrl.substring(comma + 1));
+    }
+}
@@ -0,0 +1,42 @@
+package com.rissani.connect.service;
+
+import com.rissani.connect.entity.Event;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Les participations sont écrites en SQL natif, que Hibernate ne sait pas rattacher à une entité :
+ * on évince à la main l'événement et sa collection de participants, pour cet événement seulement.
+ * Une seconde éviction après commit couvre une relecture concurrente de l'ancien état pendant la transaction.
+ */
+@Component
+@RequiredArgsConstructor
+public class EventCacheInvalidator {
+
+    private static final String PARTICIPANTS_ROLE = Event.class.getName() + ".participants";
+
+    private final EntityManagerFactory entityManagerFactory;
+
+    public void evict(String eventId) {
+        doEvict(eventId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    doEvict(eventId);
+                }
+            });
+        }
+    }
+
+    private void doEvict(String eventId) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        cache.evictEntityData(Event.class, eventId);
+        cache.evictCollectionData(PARTICIPANTS_ROLE, eventId);
+    }
+}
@@ -1,16 +1,40 @@
 package com.rissani.connect.service;
 
+import com.rissani.connect.dto.CursorPageResponse;
 import com.rissani.connect.dto.EventRequest;
 import com.rissani.connect.dto.EventResponse;
+import com.rissani.connect.dto.FieldSelection;
+import com.rissani.connect.dto.EventSearchRequest;
+import com.rissani.connect.dto.ParticipationResponse;
 import com.rissani.connect.entity.Event;
+import com.rissani.connect.entity.EventWaitlistEntry;
 import com.rissani.connect.entity.User;
+import com.rissani.connect.live.EventUpdateHub;
 import com.rissani.connect.repository.EventRepository;
+import com.rissani.connect.repository.EventSpecifications;
+import com.rissani.connect.repository.EventWaitlistRepository;
+import com.rissani.connect.repository.KeysetCursor;
+import com.rissani.connect.repository.ProjectionQueries;
 import com.rissani.connect.repository.UserRepository;
+import com.rissani.connect.repository.projection.EventListingRow;
+import com.rissani.connect.repository.projection.EventParticipantRow;
+import com.rissani.connect.repository.projection.EventsRevision;
+import com.rissani.connect.stats.DashboardCounters;
 import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
@@ -18,13 +42,66 @@ import java.util.stream.Collectors;
 public class EventService {
 
     private final EventRepository eventRepository;
+    private final ProjectionQueries projectionQueries;
+    private final EventWaitlistRepository waitlistRepository;
     private final UserRepository userRepository;
     private final UserService userService;
+    private final EventCacheInvalidator eventCacheInvalidator;
+    private final DashboardCounters dashboardCounters;
+    private final EventUpdateHub eventUpdateHub;
 
-    public List<EventResponse> getAllEvents() {
-        return eventRepository.findAll().stream()
-                .map(EventResponse::fromEntity)
-                .collect(Collectors.toList());
+    // Taille max des listes IN pour charger les participants
+    private static final int PARTICIPANT_CHUNK_SIZE = 1000;
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final Sort LISTING_ORDER = Sort.by(Sort.Direction.ASC, "date", "id");
+
+    /**
+     * Liste filtrée (type, intervalle de dates) paginée par curseur sur (date, id) : chaque page est
+     * un parcours de plage d'index borné, sans COUNT ni OFFSET. Seules les colonnes des champs
+     * demandés sont lues, plus celles du curseur ; les participants seulement s'ils sont demandés.
+     */
+    public CursorPageResponse<EventResponse> searchEvents(EventSearchRequest request, FieldSelection fields) {
+        int size = request.getSize() == null ? DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(request.getSize(), MAX_PAGE_SIZE));
+        KeysetCursor cursor = request.getCursor() != null ? KeysetCursor.decode(request.getCursor()) : null;
+
+        Specification<Event> spec = EventSpecifications.matches(request)
+                .and(EventSpecifications.after(cursor));
+        Map<String, String> columns = columns(fields);
+        columns.put("date", "date");
+        // Une ligne de plus que demandé pour savoir s'il existe une page suivante
+        List<Map<String, Object>> rows = projectionQueries.select(Event.class, columns, spec, LISTING_ORDER, size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<Map<String, Object>> page = hasNext ? rows.subList(0, size) : rows;
+        Map<String, Object> last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return CursorPageResponse.<EventResponse>builder()
+                .content(toResponses(page, fields))
+                .nextCursor(hasNext
+                        ? new KeysetCursor((LocalDateTime) last.get("date"), (String) last.get("id")).encode()
+                        : null)
+                .build();
+    }
+
+    public List<EventResponse> getAllEvents(FieldSelection fields) {
+        return toResponses(projectionQueries.select(Event.class, columns(fields), null, LISTING_ORDER, 0), fields);
+    }
+
+    /**
+     * ETag de la liste des événements, sans charger d'entité. Calculé avant le corps : au pire le
+     * client reçoit un corps plus récent que l'ETag et le recharge une fois de trop, jamais l'inverse.
+     */
+    public String getEventsEtag() {
+        EventsRevision revision = eventRepository.findRevision();
+        long lastCreated = revision.lastCreatedAt() == null
+                ? 0 : revision.lastCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli();
+        return "\"" + revision.count() + "." + revision.versionSum() + "." + lastCreated + "\"";
+    }
+
+    public Optional<String> getEventEtag(String id) {
+        return eventRepository.findVersionById(id).map(version -> "\"" + version + "\"");
     }
 
     public EventResponse getEventById(String id) {
@@ -43,11 +120,15 @@ public class EventService {
                 .date(request.getDate())
                 .lieu(request.getLieu())
                 .type(Event.TypeEvent.valueOf(request.getType().toUpperCase()))
+                .capacite(request.getCapacite())
                 .createdBy(currentUser)
                 .build();
 
         Event savedEvent = eventRepository.save(event);
-        return EventResponse.fromEntity(savedEvent);
+        dashboardCounters.eventCreated(savedEvent);
+        EventResponse response = EventResponse.fromEntity(savedEvent);
+        eventUpdateHub.eventCreated(response);
+        return response;
     }
 
     @Transactional
@@ -56,40 +137,146 @@ public class EventService {
                 .orElseThrow(() -> new RuntimeException("Événement non trouvé"));
 
         // Vérifier que l'utilisateur est admin (fait par @PreAuthorize dans le controller)
+        int waitlistRemoved = waitlistRepository.deleteByEventId(id);
         eventRepository.delete(event);
+        dashboardCounters.eventDeleted(event, waitlistRemoved);
+        eventUpdateHub.eventDeleted(id);
     }
 
+    /**
+     * Inscription sous forte concurrence : la place est réservée par un UPDATE conditionnel sur la
+     * ligne de l'événement (verrou de ligne, pas de verrou global), puis la participation est insérée.
+     * Si l'événement est complet, l'utilisateur rejoint la liste d'attente (FIFO).
+     */
     @Transactional
-    public void participateToEvent(String eventId) {
+    public ParticipationResponse participateToEvent(String eventId) {
         User currentUser = userService.getCurrentUser();
 
-        Event event = eventRepository.findById(eventId)
+        if (eventRepository.reserveSeat(eventId) == 1) {
+            insertParticipant(eventId, currentUser.getId());
+            return ParticipationResponse.inscrit();
+        }
+
+        // Complet ou inexistant : on décide sous verrou de la ligne de l'événement
+        Event event = eventRepository.findByIdForUpdate(eventId)
                 .orElseThrow(() -> new RuntimeException("Événement non trouvé"));
 
-        // Vérifier si l'utilisateur participe déjà
-        if (event.getParticipants().stream().anyMatch(p -> p.getId().equals(currentUser.getId()))) {
+        if (eventRepository.countParticipant(eventId, currentUser.getId()) > 0) {
             throw new RuntimeException("Vous participez déjà à cet événement");
         }
+        // Une place a pu se libérer entre-temps (annulation sans liste d'attente) ; sans capacité, jamais complet
+        boolean seatLeft = event.getCapacite() == null || event.getNombreParticipants() < event.getCapacite();
+        if (seatLeft && eventRepository.reserveSeat(eventId) == 1) {
+            insertParticipant(eventId, currentUser.getId());
+            return ParticipationResponse.inscrit();
+        }
 
-        event.getParticipants().add(currentUser);
-        eventRepository.save(event);
+        EventWaitlistEntry entry = waitlistRepository.findByEventIdAndUserId(eventId, currentUser.getId())
+                .orElseGet(() -> {
+                    dashboardCounters.waitlistChanged(1);
+                    return waitlistRepository.save(EventWaitlistEntry.builder()
+                            .eventId(eventId)
+                            .userId(currentUser.getId())
+                            .build());
+                });
+        return ParticipationResponse.enAttente(waitlistRepository.countByEventIdAndIdLessThan(eventId, entry.getId()) + 1);
     }
 
+    /**
+     * Libère la place et promeut le premier de la liste d'attente, sous verrou de la ligne de l'événement.
+     */
     @Transactional
     public void cancelParticipation(String eventId) {
         User currentUser = userService.getCurrentUser();
 
-        Event event = eventRepository.findById(eventId)
+        eventRepository.findByIdForUpdate(eventId)
                 .orElseThrow(() -> new RuntimeException("Événement non trouvé"));
 
-        event.getParticipants().removeIf(p -> p.getId().equals(currentUser.getId()));
-        eventRepository.save(event);
+        if (eventRepository.deleteParticipant(eventId, currentUser.getId()) == 0) {
+            dashboardCounters.waitlistChanged(-waitlistRepository.deleteByEventIdAndUserId(eventId, currentUser.getId()));
+            return;
+        }
+        eventCacheInvalidator.evict(eventId);
+        dashboardCounters.participationsChanged(-1);
+        eventUpdateHub.participantLeft(eventId, currentUser.getId());
+
+        Optional<EventWaitlistEntry> next = waitlistRepository.findFirstByEventIdOrderByIdAsc(eventId);
+        if (next.isPresent()) {
+            // La place passe directement au suivant : le compteur ne change pas
+            waitlistRepository.delete(next.get());
+            eventRepository.insertParticipant(eventId, next.get().getUserId());
+            eventRepository.touch(eventId);
+            dashboardCounters.waitlistChanged(-1);
+            dashboardCounters.participationsChanged(1);
+            eventUpdateHub.participantJoined(eventId, next.get().getUserId());
+        } else {
+            eventRepository.releaseSeat(eventId);
+        }
+    }
+
+    private void insertParticipant(String eventId, String userId) {
+        try {
+            eventRepository.insertParticipant(eventId, userId);
+            eventCacheInvalidator.evict(eventId);
+            dashboardCounters.participationsChanged(1);
+            eventUpdateHub.participantJoined(eventId, userId);
+        } catch (DataIntegrityViolationException e) {
+            // La transaction est annulée : la place réservée est rendue
+            throw new RuntimeException("Vous participez déjà à cet événement");
+        }
     }
 
     public List<EventResponse> getUserEvents(String userId) {
-        return eventRepository.findEventsByParticipantId(userId).stream()
-                .map(EventResponse::fromEntity)
+        return toResponses(eventRepository.findListingRowsByParticipantId(userId));
+    }
+
+    // createdBy lit la clé étrangère, sans jointure vers users
+    private static Map<String, String> columns(FieldSelection fields) {
+        Map<String, String> columns = new LinkedHashMap<>();
+        for (String name : fields.names()) {
+            if (name.equals("createdBy")) {
+                columns.put(name, "createdBy.id");
+            } else if (!name.equals("participants")) {
+                columns.put(name, name);
+            }
+        }
+        return columns;
+    }
+
+    private List<EventResponse> toResponses(List<Map<String, Object>> rows, FieldSelection fields) {
+        if (!fields.includes("participants")) {
+            return rows.stream()
+                    .map(row -> EventResponse.fromProjection(row, null))
+                    .collect(Collectors.toList());
+        }
+        Map<String, List<String>> participantsByEvent =
+                participantsByEvent(rows.stream().map(row -> (String) row.get("id")).toList());
+        return rows.stream()
+                .map(row -> EventResponse.fromProjection(row,
+                        participantsByEvent.getOrDefault((String) row.get("id"), new ArrayList<>())))
+                .collect(Collectors.toList());
+    }
+
+    private List<EventResponse> toResponses(List<EventListingRow> rows) {
+        Map<String, List<String>> participantsByEvent =
+                participantsByEvent(rows.stream().map(EventListingRow::id).toList());
+        return rows.stream()
+                .map(row -> EventResponse.fromRow(row, participantsByEvent.getOrDefault(row.id(), new ArrayList<>())))
                 .collect(Collectors.toList());
     }
+
+    /**
+     * Participants en ceil(n / PARTICIPANT_CHUNK_SIZE) requêtes au lieu de 2n.
+     */
+    private Map<String, List<String>> participantsByEvent(List<String> eventIds) {
+        Map<String, List<String>> participantsByEvent = new HashMap<>();
+        for (int from = 0; from < eventIds.size(); from += PARTICIPANT_CHUNK_SIZE) {
+            List<String> chunk = eventIds.subList(from, Math.min(from + PARTICIPANT_CHUNK_SIZE, eventIds.size()));
+            for (EventParticipantRow link : eventRepository.findParticipantRows(chunk)) {
+                participantsByEvent.computeIfAbsent(link.eventId(), id -> new ArrayList<>()).add(link.userId());
+            }
+        }
+        return participantsByEvent;
+    }
 }
 
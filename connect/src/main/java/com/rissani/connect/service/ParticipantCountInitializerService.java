@@ -0,0 +1,25 @@
+package com.rissani.connect.service;
+
+import com.rissani.connect.repository.EventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+/**
+ * Recalcule events.nombre_participants au démarrage (lignes créées avant l'ajout du compteur).
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ParticipantCountInitializerService {
+
+    private final EventRepository eventRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void resyncCounters() {
+        int updated = eventRepository.resyncParticipantCounts();
+        log.info("Compteurs de participants recalculés pour {} événements", updated);
+    }
+}
@@ -0,0 +1,125 @@
+package com.rissani.connect.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rissani.connect.dto.UserResponse;
+import com.rissani.connect.repository.UserRepository;
+import com.rissani.connect.repository.projection.UserExportRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Export de la base alumni ligne par ligne : la mémoire utilisée ne dépend pas du nombre d'utilisateurs.
+ */
+@Service
+@RequiredArgsConstructor
+public class UserExportService {
+
+    public enum Format {
+        NDJSON, CSV;
+
+        public static Format from(String value) {
+            try {
+                return Format.valueOf(value.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new RuntimeException("Format d'export inconnu : " + value);
+            }
+        }
+    }
+
+    private static final String[] CSV_HEADER = {
+            "id", "nom", "prenom", "email", "numTelephone", "role", "sexe",
+            "anneeBac", "filiereBac", "statut", "specialite", "avatar", "createdAt"
+    };
+
+    private static final Pattern PLAIN_NUMBER = Pattern.compile("[+\\-]?[0-9 ().\\-]+");
+
+    private final UserRepository userRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Écrit tous les utilisateurs dans out. Retourne le nombre de lignes exportées.
+     */
+    @Transactional(readOnly = true)
+    public long export(Format format, OutputStream out) throws IOException {
+        try (Stream<UserExportRow> rows = userRepository.streamExportRows()) {
+            return format == Format.CSV ? writeCsv(rows.iterator(), out) : writeNdjson(rows.iterator(), out);
+        }
+    }
+
+    private long writeNdjson(Iterator<UserExportRow> rows, OutputStream out) throws IOException {
+        // Pas de flush par ligne : le tampon du conteneur envoie des blocs pleins
+        ObjectWriter writer = objectMapper.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            while (rows.hasNext()) {
+                writer.writeValue(generator, UserResponse.fromRow(rows.next()));
+                generator.writeRaw('\n');
+                count++;
+            }
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<UserExportRow> rows, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        // BOM : Excel ouvre alors le fichier en UTF-8 (accents)
+        writer.write('\uFEFF');
+        writeCsvLine(writer, CSV_HEADER);
+        long count = 0;
+        while (rows.hasNext()) {
+            UserResponse user = UserResponse.fromRow(rows.next());
+            writeCsvLine(writer, new String[]{
+                    user.getId(), user.getNom(), user.getPrenom(), user.getEmail(), user.getNumTelephone(),
+                    user.getRole(), user.getSexe(),
+                    user.getAnneeBac() != null ? user.getAnneeBac().toString() : null,
+                    user.getFiliereBac(), user.getStatut(), user.getSpecialite(), user.getAvatar(),
+                    user.getCreatedAt() != null ? user.getCreatedAt().toString() : null
+            });
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    private static void writeCsvLine(Writer writer, String[] values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            writer.write(csvField(values[i]));
+        }
+        writer.write("\r\n");
+    }
+
+    static String csvField(String value) {
+        if (value == null || value.isEmpty()) {
+            return "";
+        }
+        // Une cellule commençant par = + - @ serait évaluée comme formule par le tableur
+        // (sauf valeur purement numérique, comme un téléphone +212...)
+        char first = value.charAt(0);
+        boolean formulaPrefix = first == '=' || first == '+' || first == '-' || first == '@' || first == '\t' || first == '\r';
+        if (formulaPrefix && !PLAIN_NUMBER.matcher(value).matches()) {
+            value = "'" + value;
+        }
+        if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0 || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0) {
+            return '"' + value.replace("\"", "\"\"") + '"';
+        }
+        return value;
+    }
+}
@@ -0,0 +1,365 @@
+package com.rissani.connect.service;
+
+import com.rissani.connect.dto.ImportRowError;
+import com.rissani.connect.dto.ImportedCredential;
+import com.rissani.connect.dto.RegisterRequest;
+import com.rissani.connect.dto.UserImportReport;
+import com.rissani.connect.entity.User;
+import com.rissani.connect.entity.BinaryUuidJavaType;
+import com.rissani.connect.entity.UuidV7;
+import com.rissani.connect.repository.UserRepository;
+import com.rissani.connect.search.UserSearchIndex;
+import com.rissani.connect.security.BoundedPasswordEncoder;
+import com.rissani.connect.stats.DashboardCounters;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.SecureRandom;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Import en masse d'alumni depuis un CSV (mêmes colonnes que l'export, plus une colonne password facultative).
+ * Le fichier est lu en flux et traité par paquets : validation, contrôle des emails existants en une requête,
+ * hachage parallèle sur le pool BCrypt, insertion JDBC en batch. Une ligne invalide est signalée dans le
+ * rapport sans interrompre l'import.
+ */
+@Slf4j
+@Service
+public class UserImportService {
+
+    static final int CHUNK_SIZE = 1000;
+    static final int MAX_REPORTED_ERRORS = 1000;
+
+    private static final String[] REQUIRED_COLUMNS = {"nom", "prenom", "email", "numtelephone"};
+
+    private static final String INSERT_SQL = "INSERT INTO users (id, nom, prenom, num_telephone, email, password, "
+            + "role, sexe, annee_bac, filiere_bac, statut, specialite, created_at, version) "
+            + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, 0)";
+
+    private final UserRepository userRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final BoundedPasswordEncoder passwordEncoder;
+    private final Validator validator;
+    private final UserSearchIndex userSearchIndex;
+    private final DashboardCounters dashboardCounters;
+    private final EntityManagerFactory entityManagerFactory;
+    private final int importCost;
+    private final SecureRandom random = new SecureRandom();
+
+    public UserImportService(
+            UserRepository userRepository,
+            JdbcTemplate jdbcTemplate,
+            TransactionTemplate transactionTemplate,
+            BoundedPasswordEncoder passwordEncoder,
+            Validator validator,
+            UserSearchIndex userSearchIndex,
+            DashboardCounters dashboardCounters,
+            EntityManagerFactory entityManagerFactory,
+            @Value("${security.password-hashing.import-cost:${security.password-hashing.bcrypt-cost:10}}") int importCost
+    ) {
+        this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.passwordEncoder = passwordEncoder;
+        this.validator = validator;
+        this.userSearchIndex = userSearchIndex;
+        this.dashboardCounters = dashboardCounters;
+        this.entityManagerFactory = entityManagerFactory;
+        this.importCost = importCost;
+    }
+
+    public UserImportReport importCsv(InputStream in) throws IOException {
+        long start = System.currentTimeMillis();
+        CsvRowReader reader = new CsvRowReader(
+                new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 64 * 1024));
+        List<String> header = reader.next();
+        if (header == null) {
+            throw new RuntimeException("Fichier d'import vide");
+        }
+        Map<String, Integer> columns = mapColumns(header);
+
+        Run run = new Run();
+        List<Row> chunk = new ArrayList<>(CHUNK_SIZE);
+        List<String> fields;
+        while ((fields = reader.next()) != null) {
+            run.totalRows++;
+            Row row = parse(reader.recordLine(), fields, columns, run);
+            if (row != null) {
+                chunk.add(row);
+            }
+            if (chunk.size() == CHUNK_SIZE) {
+                processChunk(chunk, run);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            processChunk(chunk, run);
+        }
+        if (run.created > 0) {
+            // Les insertions JDBC échappent à Hibernate : un findByEmail en cache pourrait rester à vide
+            entityManagerFactory.unwrap(SessionFactory.class).getCache().evictQueryRegions();
+        }
+
+        long duration = System.currentTimeMillis() - start;
+        log.info("Import CSV : {} lignes, {} créées, {} en erreur en {} ms (hachage {} ms, insertion {} ms)",
+                run.totalRows, run.created, run.failed, duration, run.hashingMillis, run.insertMillis);
+        return UserImportReport.builder()
+                .totalRows(run.totalRows)
+                .created(run.created)
+                .failed(run.failed)
+                .durationMillis(duration)
+                .hashingMillis(run.hashingMillis)
+                .insertMillis(run.insertMillis)
+                .errors(run.errors)
+                .errorsTruncated(run.failed > run.errors.size())
+                .generatedPasswords(run.generatedPasswords)
+                .build();
+    }
+
+    private Map<String, Integer> mapColumns(List<String> header) {
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.putIfAbsent(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String required : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(required)) {
+                throw new RuntimeException("Colonne obligatoire absente du fichier d'import : " + required);
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Valide une ligne et la convertit ; null (et erreur consignée) si elle est rejetée.
+     */
+    private Row parse(long line, List<String> fields, Map<String, Integer> columns, Run run) {
+        String email = field(fields, columns, "email");
+        // Mot de passe pris tel quel : ni trim ni retrait de préfixe
+        Integer passwordIndex = columns.get("password");
+        String password = passwordIndex != null && passwordIndex < fields.size() ? fields.get(passwordIndex) : "";
+        boolean generated = password.isEmpty();
+        if (generated) {
+            password = generatePassword();
+        }
+        String anneeBac = field(fields, columns, "anneebac");
+        RegisterRequest request = RegisterRequest.builder()
+                .nom(field(fields, columns, "nom"))
+                .prenom(field(fields, columns, "prenom"))
+                .email(email)
+                .password(password)
+                .numTelephone(field(fields, columns, "numtelephone"))
+                .filiereBac(field(fields, columns, "filierebac"))
+                .specialite(field(fields, columns, "specialite"))
+                .build();
+
+        Set<ConstraintViolation<RegisterRequest>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            run.error(line, email, violations.iterator().next().getMessage());
+            return null;
+        }
+        User.Sexe sexe;
+        User.Statut statut;
+        Integer annee;
+        try {
+            String value = field(fields, columns, "sexe");
+            sexe = value != null ? User.Sexe.valueOf(value.toUpperCase(Locale.ROOT)) : null;
+            value = field(fields, columns, "statut");
+            statut = value != null ? User.Statut.valueOf(value.toUpperCase(Locale.ROOT)) : null;
+            annee = anneeBac != null ? Integer.valueOf(anneeBac) : null;
+        } catch (IllegalArgumentException e) {
+            run.error(line, email, "Valeur invalide pour sexe, statut ou anneeBac");
+            return null;
+        }
+        if (!run.seenEmails.add(email.toLowerCase(Locale.ROOT))) {
+            run.error(line, email, "Email en double dans le fichier");
+            return null;
+        }
+
+        User user = User.builder()
+                .id(UuidV7.nextString())
+                .nom(request.getNom())
+                .prenom(request.getPrenom())
+                .email(email)
+                .numTelephone(request.getNumTelephone())
+                .role(User.Role.USER)
+                .sexe(sexe)
+                .anneeBac(annee)
+                .filiereBac(request.getFiliereBac())
+                .statut(statut)
+                .specialite(request.getSpecialite())
+                .version(0L)
+                .build();
+        return new Row(line, user, password, generated);
+    }
+
+    private void processChunk(List<Row> chunk, Run run) {
+        Set<String> existing = new HashSet<>();
+        for (String email : userRepository.findExistingEmails(chunk.stream().map(row -> row.user.getEmail()).toList())) {
+            existing.add(email.toLowerCase(Locale.ROOT));
+        }
+        List<Row> accepted = new ArrayList<>(chunk.size());
+        for (Row row : chunk) {
+            if (existing.contains(row.user.getEmail().toLowerCase(Locale.ROOT))) {
+                run.error(row.line, row.user.getEmail(), "Un utilisateur avec cet email existe déjà");
+            } else {
+                accepted.add(row);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+
+        long hashStart = System.currentTimeMillis();
+        hashPasswords(accepted);
+        run.hashingMillis += System.currentTimeMillis() - hashStart;
+        LocalDateTime now = LocalDateTime.now();
+        for (Row row : accepted) {
+            row.user.setCreatedAt(now);
+        }
+
+        long insertStart = System.currentTimeMillis();
+        List<Row> inserted = insert(accepted, run);
+        run.insertMillis += System.currentTimeMillis() - insertStart;
+
+        for (Row row : inserted) {
+            userSearchIndex.upsert(row.user);
+            dashboardCounters.userCreated(row.user);
+            if (row.generated) {
+                run.generatedPasswords.add(new ImportedCredential(row.user.getEmail(), row.password));
+            }
+        }
+        run.created += inserted.size();
+    }
+
+    /**
+     * Mots de passe fournis par le CSV (souvent choisis par l'établissement, donc devinables) au coût
+     * courant ; seuls les mots de passe générés (96 bits aléatoires) passent au coût d'import réduit.
+     */
+    private void hashPasswords(List<Row> rows) {
+        List<Row> supplied = new ArrayList<>(rows.size());
+        List<Row> generated = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            (row.generated ? generated : supplied).add(row);
+        }
+        setHashes(supplied, passwordEncoder.encodeAll(passwords(supplied)));
+        setHashes(generated, passwordEncoder.encodeAll(passwords(generated), importCost));
+    }
+
+    private static List<String> passwords(List<Row> rows) {
+        return rows.stream().map(row -> row.password).toList();
+    }
+
+    private static void setHashes(List<Row> rows, List<String> hashes) {
+        for (int i = 0; i < rows.size(); i++) {
+            rows.get(i).user.setPassword(hashes.get(i));
+        }
+    }
+
+    /**
+     * Un batch par paquet, dans sa propre transaction. Si le batch échoue (email inséré entre-temps),
+     * on rejoue le paquet ligne par ligne pour isoler les lignes fautives.
+     */
+    private List<Row> insert(List<Row> rows, Run run) {
+        try {
+            transactionTemplate.executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_SQL, rows, rows.size(), (ps, row) -> bind(ps, row.user)));
+            return rows;
+        } catch (DataAccessException e) {
+            log.debug("Batch d'import rejeté, reprise ligne par ligne : {}", e.getMessage());
+        }
+        List<Row> inserted = new ArrayList<>(rows.size());
+        for (Row row : rows) {
+            try {
+                jdbcTemplate.update(INSERT_SQL, ps -> bind(ps, row.user));
+                inserted.add(row);
+            } catch (DataAccessException e) {
+                run.error(row.line, row.user.getEmail(), "Insertion impossible : email déjà utilisé ou donnée invalide");
+            }
+        }
+        return inserted;
+    }
+
+    private static void bind(PreparedStatement ps, User user) throws SQLException {
+        ps.setBytes(1, BinaryUuidJavaType.toBytes(user.getId()));
+        ps.setString(2, user.getNom());
+        ps.setString(3, user.getPrenom());
+        ps.setString(4, user.getNumTelephone());
+        ps.setString(5, user.getEmail());
+        ps.setString(6, user.getPassword());
+        ps.setString(7, user.getRole().name());
+        ps.setString(8, user.getSexe() != null ? user.getSexe().name() : null);
+        ps.setObject(9, user.getAnneeBac(), Types.INTEGER);
+        ps.setString(10, user.getFiliereBac());
+        ps.setString(11, user.getStatut() != null ? user.getStatut().name() : null);
+        ps.setString(12, user.getSpecialite());
+        ps.setTimestamp(13, Timestamp.valueOf(user.getCreatedAt()));
+    }
+
+    /**
+     * Valeur nettoyée d'une colonne : null si absente ou vide, préfixe anti-formule de l'export retiré.
+     */
+    private static String field(List<String> fields, Map<String, Integer> columns, String name) {
+        Integer index = columns.get(name);
+        if (index == null || index >= fields.size()) {
+            return null;
+        }
+        String value = fields.get(index).trim();
+        if (value.length() > 1 && value.charAt(0) == '\'' && "=+-@".indexOf(value.charAt(1)) >= 0) {
+            value = value.substring(1);
+        }
+        return value.isEmpty() ? null : value;
+    }
+
+    private String generatePassword() {
+        byte[] bytes = new byte[12];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private record Row(long line, User user, String password, boolean generated) {
+    }
+
+    private static final class Run {
+        long totalRows;
+        long created;
+        long failed;
+        long hashingMillis;
+        long insertMillis;
+        final Set<String> seenEmails = new HashSet<>();
+        final List<ImportRowError> errors = new ArrayList<>();
+        final List<ImportedCredential> generatedPasswords = new ArrayList<>();
+
+        void error(long line, String email, String message) {
+            failed++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new ImportRowError(line, email, message));
+            }
+        }
+    }
+}
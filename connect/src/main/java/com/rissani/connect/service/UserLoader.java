@@ -0,0 +1,104 @@
+package com.rissani.connect.service;
+
+import com.rissani.connect.dto.UserResponse;
+import com.rissani.connect.entity.User;
+import com.rissani.connect.repository.UserRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.annotation.RequestScope;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Chargeur d'utilisateurs propre à la requête HTTP : les ids demandés pendant la requête sont
+ * dédoublonnés, les absents du cache de la requête sont chargés ensemble par requêtes IN (blocs de
+ * CHUNK_SIZE), et un même id n'est jamais relu pendant la requête. Un id seul passe par findById,
+ * qui profite du cache de second niveau. Les ids mal formés sont traités comme inconnus.
+ * À n'utiliser que depuis un thread de requête (le bean n'existe pas ailleurs).
+ */
+@Component
+@RequestScope
+@RequiredArgsConstructor
+public class UserLoader {
+
+    // Taille max des listes IN, comme pour les participants
+    static final int CHUNK_SIZE = 1000;
+
+    private final UserRepository userRepository;
+
+    private final Map<String, UserResponse> loaded = new HashMap<>();
+    // Ids déjà cherchés sans résultat
+    private final Set<String> missing = new HashSet<>();
+
+    public Optional<UserResponse> load(String id) {
+        return Optional.ofNullable(loadAll(List.of(id)).get(id));
+    }
+
+    /**
+     * Utilisateurs trouvés, dans l'ordre des ids demandés (sans doublon) ; les ids inconnus ou mal formés
+     * sont ignorés.
+     */
+    public Map<String, UserResponse> loadAll(Collection<String> ids) {
+        Set<String> pending = new LinkedHashSet<>();
+        for (String id : ids) {
+            if (loaded.containsKey(id) || missing.contains(id)) {
+                continue;
+            }
+            if (isWellFormed(id)) {
+                pending.add(id);
+            } else {
+                missing.add(id);
+            }
+        }
+        fetch(new ArrayList<>(pending));
+
+        Map<String, UserResponse> result = new LinkedHashMap<>();
+        for (String id : ids) {
+            UserResponse user = loaded.get(id);
+            if (user != null) {
+                result.put(id, user);
+            }
+        }
+        return result;
+    }
+
+    private void fetch(List<String> ids) {
+        if (ids.size() == 1) {
+            String id = ids.get(0);
+            userRepository.findById(id).ifPresentOrElse(
+                    user -> loaded.put(id, UserResponse.fromEntity(user)),
+                    () -> missing.add(id));
+            return;
+        }
+        for (int from = 0; from < ids.size(); from += CHUNK_SIZE) {
+            List<String> chunk = ids.subList(from, Math.min(from + CHUNK_SIZE, ids.size()));
+            for (User user : userRepository.findAllById(chunk)) {
+                loaded.put(user.getId(), UserResponse.fromEntity(user));
+            }
+            for (String id : chunk) {
+                if (!loaded.containsKey(id)) {
+                    missing.add(id);
+                }
+            }
+        }
+    }
+
+    private static boolean isWellFormed(String id) {
+        try {
+            UUID.fromString(id);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+}
@@ -1,36 +1,85 @@
 package com.rissani.connect.service;
 
+import com.rissani.connect.dto.CursorPageResponse;
+import com.rissani.connect.dto.FieldSelection;
 import com.rissani.connect.dto.UserResponse;
+import com.rissani.connect.dto.UserSearchHit;
+import com.rissani.connect.dto.UserSearchRequest;
 import com.rissani.connect.entity.User;
+import com.rissani.connect.repository.KeysetCursor;
+import com.rissani.connect.repository.ProjectionQueries;
 import com.rissani.connect.repository.UserRepository;
+import com.rissani.connect.repository.UserSpecifications;
+import com.rissani.connect.search.UserSearchIndex;
+import com.rissani.connect.stats.DashboardCounters;
+import com.rissani.connect.security.PrincipalCache;
+import com.rissani.connect.storage.AvatarStore;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.security.core.Authentication;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class UserService {
 
+    private static final int DEFAULT_PAGE_SIZE = 24;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_BATCH_IDS = 5000;
+    private static final Sort DIRECTORY_ORDER = Sort.by(Sort.Direction.DESC, "createdAt", "id");
+
     private final UserRepository userRepository;
+    private final ProjectionQueries projectionQueries;
+    private final PrincipalCache principalCache;
+    private final UserSearchIndex userSearchIndex;
+    private final DashboardCounters dashboardCounters;
+    private final AvatarStore avatarStore;
+    private final UserLoader userLoader;
 
     public User getCurrentUser() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         String email = authentication.getName();
-        return userRepository.findByEmail(email)
+        return principalCache.get(email, userRepository::findByEmail)
                 .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
     }
 
+    /**
+     * ETag du profil courant : lu sur l'utilisateur en cache, aucune requête.
+     */
+    public String getCurrentUserEtag() {
+        User user = getCurrentUser();
+        return etag(user.getId(), user.getVersion());
+    }
+
+    public Optional<String> getUserEtag(String id) {
+        return userRepository.findVersionById(id).map(version -> etag(id, version));
+    }
+
+    // /api/users/me renvoie un utilisateur différent selon l'appelant : l'id fait partie de l'ETag
+    private static String etag(String id, Long version) {
+        return "\"" + id + "." + version + "\"";
+    }
+
     public UserResponse getCurrentUserProfile() {
         User user = getCurrentUser();
         return UserResponse.fromEntity(user);
     }
 
     public UserResponse updateProfile(UserResponse updateRequest) {
-        User user = getCurrentUser();
+        // L'instance en cache est partagée : on recharge l'entité avant de la modifier
+        User user = userRepository.findById(getCurrentUser().getId())
+                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+        DashboardCounters.UserDimensions before = DashboardCounters.UserDimensions.of(user);
 
         // Mise à jour des champs
         if (updateRequest.getNom() != null) {
@@ -57,10 +106,35 @@ public class UserService {
         if (updateRequest.getNumTelephone() != null) {
             user.setSpecialite(updateRequest.getNumTelephone());
         }
-        if (updateRequest.getAvatar() != null) {
-            user.setAvatar(updateRequest.getAvatar());
+        // L'avatar ne passe plus par le profil ; renvoyer la valeur lue par GET /me reste accepté
+        if (updateRequest.getAvatar() != null && !updateRequest.getAvatar().equals(AvatarStore.urlOf(user.getAvatar()))) {
+            throw new RuntimeException("L'avatar se modifie par POST /api/users/me/avatar (fichier) "
+                    + "ou se supprime par DELETE /api/users/me/avatar");
         }
 
+        userRepository.save(user);
+        userSearchIndex.upsert(user);
+        dashboardCounters.userUpdated(before, user);
+        return UserResponse.fromEntity(user);
+    }
+
+    /**
+     * Image écrite sur disque hors transaction (décodage, redimensionnement), puis seule la clé est enregistrée.
+     */
+    public UserResponse updateAvatar(byte[] content) {
+        String key = avatarStore.store(content);
+        return setAvatar(key);
+    }
+
+    public UserResponse removeAvatar() {
+        return setAvatar(null);
+    }
+
+    // Les fichiers ne sont pas supprimés : adressés par contenu, ils peuvent servir à d'autres comptes
+    private UserResponse setAvatar(String key) {
+        User user = userRepository.findById(getCurrentUser().getId())
+                .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
+        user.setAvatar(key);
         userRepository.save(user);
         return UserResponse.fromEntity(user);
     }
@@ -71,10 +145,56 @@ public class UserService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * Annuaire paginé par curseur sur (createdAt, id) : chaque page est une lecture
+     * d'index bornée, indépendante de la taille totale de la table. Seules les colonnes
+     * des champs demandés sont lues, plus celles du curseur.
+     */
+    public CursorPageResponse<UserResponse> searchUsers(UserSearchRequest request, FieldSelection fields) {
+        int size = request.getSize() == null ? DEFAULT_PAGE_SIZE
+                : Math.max(1, Math.min(request.getSize(), MAX_PAGE_SIZE));
+        KeysetCursor cursor = request.getCursor() != null ? KeysetCursor.decode(request.getCursor()) : null;
+
+        Specification<User> spec = UserSpecifications.matches(request)
+                .and(UserSpecifications.after(cursor));
+        Map<String, String> columns = new LinkedHashMap<>();
+        fields.names().forEach(name -> columns.put(name, name));
+        columns.put("createdAt", "createdAt");
+        // Une ligne de plus que demandé pour savoir s'il existe une page suivante
+        List<Map<String, Object>> rows = projectionQueries.select(User.class, columns, spec, DIRECTORY_ORDER, size + 1);
+
+        boolean hasNext = rows.size() > size;
+        List<Map<String, Object>> page = hasNext ? rows.subList(0, size) : rows;
+        Map<String, Object> last = page.isEmpty() ? null : page.get(page.size() - 1);
+
+        return CursorPageResponse.<UserResponse>builder()
+                .content(page.stream().map(UserResponse::fromProjection).collect(Collectors.toList()))
+                .nextCursor(hasNext
+                        ? new KeysetCursor((LocalDateTime) last.get("createdAt"), (String) last.get("id")).encode()
+                        : null)
+                .build();
+    }
+
+    public List<UserSearchHit> quickSearch(String query, Integer limit) {
+        int max = limit == null ? 10 : Math.max(1, Math.min(limit, 50));
+        return userSearchIndex.search(query, max);
+    }
+
     public UserResponse getUserById(String id) {
-        User user = userRepository.findById(id)
+        return userLoader.load(id)
                 .orElseThrow(() -> new RuntimeException("Utilisateur non trouvé"));
-        return UserResponse.fromEntity(user);
+    }
+
+    /**
+     * Résolution groupée (participants d'un événement...) : une requête IN par bloc de 1000 ids au lieu
+     * d'un appel par utilisateur. Ordre des ids conservé, doublons et ids inconnus ignorés.
+     */
+    public List<UserResponse> getUsersByIds(List<String> ids) {
+        List<String> distinct = ids.stream().map(String::trim).filter(id -> !id.isEmpty()).distinct().toList();
+        if (distinct.size() > MAX_BATCH_IDS) {
+            throw new RuntimeException("Trop d'identifiants (max " + MAX_BATCH_IDS + ")");
+        }
+        return new ArrayList<>(userLoader.loadAll(distinct).values());
     }
 }
 
@@ -0,0 +1,309 @@
+package com.rissani.connect.stats;
+
+import com.rissani.connect.dto.DashboardStats;
+import com.rissani.connect.entity.Event;
+import com.rissani.connect.entity.User;
+import com.rissani.connect.repository.EventRepository;
+import com.rissani.connect.repository.EventWaitlistRepository;
+import com.rissani.connect.repository.UserRepository;
+import com.rissani.connect.repository.projection.EventTypeCount;
+import com.rissani.connect.repository.projection.UpcomingEventRow;
+import com.rissani.connect.repository.projection.UserDimensionCount;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Compteurs du tableau de bord admin, tenus en mémoire : inscription, modification de profil, import,
+ * création / suppression d'événement et participations les ajustent après commit. Lire les statistiques
+ * ne touche jamais la base. Les événements à venir sont gardés triés par date : ceux dont la date est
+ * passée basculent dans les compteurs « passés » à la lecture suivante.
+ * Construits au démarrage par quelques agrégations GROUP BY, puis réconciliés périodiquement avec la base
+ * pour corriger toute dérive (transaction annulée après coup, écriture hors application, course avec
+ * une réconciliation).
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class DashboardCounters {
+
+    static final String UNKNOWN = "inconnu";
+
+    private final UserRepository userRepository;
+    private final EventRepository eventRepository;
+    private final EventWaitlistRepository waitlistRepository;
+
+    private volatile Counters counters = new Counters();
+    private volatile LocalDateTime lastReconciledAt;
+    private volatile long lastDrift;
+
+    /**
+     * Axes d'un utilisateur, à capturer avant une modification de profil.
+     */
+    public record UserDimensions(User.Statut statut, User.Sexe sexe, String filiereBac, Integer anneeBac) {
+
+        public static UserDimensions of(User user) {
+            return new UserDimensions(user.getStatut(), user.getSexe(), user.getFiliereBac(), user.getAnneeBac());
+        }
+    }
+
+    // ============ MISES À JOUR ============
+
+    public void userCreated(User user) {
+        UserDimensions after = UserDimensions.of(user);
+        afterCommit(() -> counters.addUser(after, 1));
+    }
+
+    public void userUpdated(UserDimensions before, User user) {
+        UserDimensions after = UserDimensions.of(user);
+        if (!before.equals(after)) {
+            afterCommit(() -> {
+                Counters current = counters;
+                current.addUser(before, -1);
+                current.addUser(after, 1);
+            });
+        }
+    }
+
+    public void eventCreated(Event event) {
+        UpcomingEvent key = UpcomingEvent.of(event);
+        afterCommit(() -> counters.addEvent(key));
+    }
+
+    public void eventDeleted(Event event, int waitlistRemoved) {
+        UpcomingEvent key = UpcomingEvent.of(event);
+        int participants = event.getNombreParticipants();
+        afterCommit(() -> {
+            Counters current = counters;
+            current.removeEvent(key);
+            current.participations.add(-participants);
+            current.waitlisted.add(-waitlistRemoved);
+        });
+    }
+
+    public void participationsChanged(int delta) {
+        afterCommit(() -> counters.participations.add(delta));
+    }
+
+    public void waitlistChanged(int delta) {
+        afterCommit(() -> counters.waitlisted.add(delta));
+    }
+
+    // ============ LECTURE ============
+
+    public DashboardStats snapshot() {
+        Counters current = counters;
+        current.roll(LocalDateTime.now());
+        return DashboardStats.builder()
+                .totalUsers(current.users.sum())
+                .usersByStatut(sorted(current.byStatut, true))
+                .usersBySexe(sorted(current.bySexe, true))
+                .usersByFiliereBac(sorted(current.byFiliere, false))
+                .usersByAnneeBac(sorted(current.byAnnee, false))
+                .upcomingEvents(sum(current.upcomingByType))
+                .pastEvents(sum(current.pastByType))
+                .upcomingEventsByType(sorted(current.upcomingByType, true))
+                .pastEventsByType(sorted(current.pastByType, true))
+                .participations(current.participations.sum())
+                .waitlisted(current.waitlisted.sum())
+                .lastReconciledAt(lastReconciledAt)
+                .lastReconciliationDrift(lastDrift)
+                .build();
+    }
+
+    // ============ RÉCONCILIATION ============
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initialize() {
+        reconcile();
+    }
+
+    /**
+     * Recalcule tous les compteurs depuis la base et remplace l'état courant. Une mise à jour appliquée
+     * pendant le calcul peut être perdue ou comptée deux fois ; la réconciliation suivante la rattrape.
+     */
+    @Scheduled(fixedDelayString = "${app.stats.reconcile-interval:PT10M}",
+            initialDelayString = "${app.stats.reconcile-interval:PT10M}")
+    public void reconcile() {
+        long start = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        Counters fresh = new Counters();
+        for (UserDimensionCount row : userRepository.countByDimensions()) {
+            fresh.addUser(new UserDimensions(row.statut(), row.sexe(), row.filiereBac(), row.anneeBac()), row.count());
+        }
+        for (UpcomingEventRow row : eventRepository.findUpcomingRows(now)) {
+            fresh.addEvent(new UpcomingEvent(row.date(), row.id(), row.type()));
+        }
+        for (EventTypeCount row : eventRepository.countPastByType(now)) {
+            fresh.pastByType.get(row.type().name()).add(row.count());
+        }
+        fresh.participations.add(eventRepository.countParticipations());
+        fresh.waitlisted.add(waitlistRepository.count());
+
+        Counters previous = counters;
+        previous.roll(now);
+        counters = fresh;
+        lastDrift = lastReconciledAt == null ? 0 : drift(previous.flatten(), fresh.flatten());
+        lastReconciledAt = now;
+        if (lastDrift > 0) {
+            log.warn("Statistiques admin réconciliées : {} écarts corrigés", lastDrift);
+        }
+        log.debug("Statistiques admin recalculées en {} ms", System.currentTimeMillis() - start);
+    }
+
+    private static long drift(Map<String, Long> before, Map<String, Long> after) {
+        Set<String> keys = new HashSet<>(before.keySet());
+        keys.addAll(after.keySet());
+        long drift = 0;
+        for (String key : keys) {
+            drift += Math.abs(before.getOrDefault(key, 0L) - after.getOrDefault(key, 0L));
+        }
+        return drift;
+    }
+
+    private static void afterCommit(Runnable update) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    update.run();
+                }
+            });
+        } else {
+            update.run();
+        }
+    }
+
+    /**
+     * Clés triées, sans les zéros ; les valeurs d'enum en minuscules comme dans les autres réponses.
+     */
+    private static Map<String, Long> sorted(Map<String, LongAdder> counts, boolean enumKeys) {
+        Map<String, Long> result = new TreeMap<>();
+        counts.forEach((key, count) -> {
+            long value = count.sum();
+            if (value != 0) {
+                result.put(enumKeys ? key.toLowerCase(Locale.ROOT) : key, value);
+            }
+        });
+        return result;
+    }
+
+    private static long sum(Map<String, LongAdder> counts) {
+        return counts.values().stream().mapToLong(LongAdder::sum).sum();
+    }
+
+    private static String key(Object value) {
+        return value == null ? UNKNOWN : value.toString();
+    }
+
+    private record UpcomingEvent(LocalDateTime date, String id, Event.TypeEvent type) implements Comparable<UpcomingEvent> {
+
+        static UpcomingEvent of(Event event) {
+            return new UpcomingEvent(event.getDate(), event.getId(), event.getType());
+        }
+
+        @Override
+        public int compareTo(UpcomingEvent other) {
+            int byDate = date.compareTo(other.date);
+            return byDate != 0 ? byDate : id.compareTo(other.id);
+        }
+    }
+
+    private static final class Counters {
+        final LongAdder users = new LongAdder();
+        final Map<String, LongAdder> byStatut = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> bySexe = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> byFiliere = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> byAnnee = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> upcomingByType = new ConcurrentHashMap<>();
+        final Map<String, LongAdder> pastByType = new ConcurrentHashMap<>();
+        // Événements à venir triés par date : la tête bascule dans pastByType quand sa date est passée
+        final ConcurrentSkipListSet<UpcomingEvent> upcoming = new ConcurrentSkipListSet<>();
+        final LongAdder participations = new LongAdder();
+        final LongAdder waitlisted = new LongAdder();
+
+        Counters() {
+            for (Event.TypeEvent type : Event.TypeEvent.values()) {
+                upcomingByType.put(type.name(), new LongAdder());
+                pastByType.put(type.name(), new LongAdder());
+            }
+        }
+
+        void addUser(UserDimensions user, long delta) {
+            users.add(delta);
+            add(byStatut, key(user.statut()), delta);
+            add(bySexe, key(user.sexe()), delta);
+            add(byFiliere, key(user.filiereBac()), delta);
+            add(byAnnee, key(user.anneeBac()), delta);
+        }
+
+        void addEvent(UpcomingEvent event) {
+            if (event.date().isBefore(LocalDateTime.now())) {
+                pastByType.get(event.type().name()).increment();
+            } else if (upcoming.add(event)) {
+                upcomingByType.get(event.type().name()).increment();
+            }
+        }
+
+        void removeEvent(UpcomingEvent event) {
+            if (upcoming.remove(event)) {
+                upcomingByType.get(event.type().name()).decrement();
+            } else {
+                pastByType.get(event.type().name()).decrement();
+            }
+        }
+
+        /**
+         * Fait passer dans les compteurs « passés » les événements dont la date est dépassée.
+         * remove() ne réussit que pour un seul thread : pas de double bascule.
+         */
+        void roll(LocalDateTime now) {
+            Iterator<UpcomingEvent> heads = upcoming.iterator();
+            while (heads.hasNext()) {
+                UpcomingEvent head = heads.next();
+                if (!head.date().isBefore(now)) {
+                    return;
+                }
+                if (upcoming.remove(head)) {
+                    upcomingByType.get(head.type().name()).decrement();
+                    pastByType.get(head.type().name()).increment();
+                }
+            }
+        }
+
+        Map<String, Long> flatten() {
+            Map<String, Long> flat = new HashMap<>();
+            flat.put("users", users.sum());
+            byStatut.forEach((key, count) -> flat.put("statut." + key, count.sum()));
+            bySexe.forEach((key, count) -> flat.put("sexe." + key, count.sum()));
+            byFiliere.forEach((key, count) -> flat.put("filiere." + key, count.sum()));
+            byAnnee.forEach((key, count) -> flat.put("annee." + key, count.sum()));
+            upcomingByType.forEach((key, count) -> flat.put("upcoming." + key, count.sum()));
+            pastByType.forEach((key, count) -> flat.put("past." + key, count.sum()));
+            flat.put("participations", participations.sum());
+            flat.put("waitlisted", waitlisted.sum());
+            return flat;
+        }
+
+        private static void add(Map<String, LongAdder> counts, String key, long delta) {
+            counts.computeIfAbsent(key, k -> new LongAdder()).add(delta);
+        }
+    }
+}
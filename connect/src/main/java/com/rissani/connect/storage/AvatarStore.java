@@ -0,0 +1,228 @@
+package com.rissani.connect.storage;
+
+import com.rissani.connect.exception.ServiceUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/**
+ * Avatars sur disque, adressés par contenu : la clé est le SHA-256 du fichier envoyé suivi du format
+ * produit (« 3fa…e1.jpg »), seule valeur gardée dans users.avatar. Chaque envoi est décodé puis
+ * réencodé (métadonnées et contenu non-image éliminés) en deux variantes : l'avatar borné à 512 px et
+ * une vignette carrée de 128 px pour l'annuaire. Les fichiers ne changent jamais une fois écrits :
+ * un même envoi réutilise les fichiers existants, et les réponses peuvent être mises en cache sans limite.
+ * Une image décodée occupe jusqu'à 64 Mo (4096 × 4096 × 4 octets) : les dimensions sont lues dans l'en-tête
+ * avant décodage, et le nombre de décodages simultanés est borné (max-concurrent-decodes).
+ */
+@Slf4j
+@Component
+public class AvatarStore {
+
+    public static final String URL_PREFIX = "/api/avatars/";
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{64}\\.(jpg|png)");
+    private static final int FULL_SIZE = 512;
+    private static final int THUMBNAIL_SIZE = 128;
+    // Refus avant décodage complet : une image de quelques Ko peut déclarer des dimensions énormes
+    static final int MAX_DIMENSION = 4_096;
+    // Attente d'un décodage en cours avant de répondre 503
+    private static final long DECODE_WAIT_SECONDS = 10;
+
+    public enum Variant {
+        FULL, THUMBNAIL
+    }
+
+    private final Path root;
+    private final long maxBytes;
+    private final Semaphore decodes;
+
+    public AvatarStore(
+            @Value("${app.avatars.dir:./data/avatars}") Path root,
+            @Value("${app.avatars.max-bytes:5242880}") long maxBytes,
+            @Value("${app.avatars.max-concurrent-decodes:2}") int maxConcurrentDecodes
+    ) throws IOException {
+        this.root = Files.createDirectories(root).toRealPath();
+        this.maxBytes = maxBytes;
+        this.decodes = new Semaphore(maxConcurrentDecodes);
+    }
+
+    /**
+     * URL publique d'un avatar stocké ; une valeur qui n'est pas une clé (URL externe héritée) est rendue telle quelle.
+     */
+    public static String urlOf(String stored) {
+        return stored != null && KEY.matcher(stored).matches() ? URL_PREFIX + stored : stored;
+    }
+
+    public static boolean isKey(String stored) {
+        return stored != null && KEY.matcher(stored).matches();
+    }
+
+    /**
+     * Valide, redimensionne et écrit l'image ; retourne sa clé.
+     */
+    public String store(byte[] content) {
+        if (content.length == 0) {
+            throw new RuntimeException("Le fichier est vide");
+        }
+        if (content.length > maxBytes) {
+            throw new RuntimeException("L'image dépasse la taille maximale de " + (maxBytes / (1024 * 1024)) + " Mo");
+        }
+        acquireDecode();
+        try {
+            BufferedImage image = decode(content);
+            String format = image.getColorModel().hasAlpha() ? "png" : "jpg";
+            String key = sha256(content) + "." + format;
+
+            Path full = path(key, Variant.FULL);
+            if (Files.exists(full)) {
+                return key;
+            }
+            try {
+                Files.createDirectories(full.getParent());
+                // Vignette d'abord : la présence de l'avatar complet signifie que les deux existent
+                write(resize(image, THUMBNAIL_SIZE, true), format, path(key, Variant.THUMBNAIL));
+                write(resize(image, FULL_SIZE, false), format, full);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Écriture de l'avatar impossible", e);
+            }
+            return key;
+        } finally {
+            decodes.release();
+        }
+    }
+
+    private void acquireDecode() {
+        try {
+            if (decodes.tryAcquire(DECODE_WAIT_SECONDS, TimeUnit.SECONDS)) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        throw new ServiceUnavailableException("Trop d'images en cours de traitement, veuillez réessayer plus tard");
+    }
+
+    /**
+     * Fichier d'une variante, si la clé est valide et le fichier présent.
+     */
+    public Optional<Path> find(String key, Variant variant) {
+        if (!isKey(key)) {
+            return Optional.empty();
+        }
+        Path path = path(key, variant);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public static String contentType(String key) {
+        return key.endsWith(".png") ? "image/png" : "image/jpeg";
+    }
+
+    // Répartition sur 256 répertoires par les deux premiers caractères du hachage
+    private Path path(String key, Variant variant) {
+        String name = variant == Variant.THUMBNAIL ? key.replace(".", "-" + THUMBNAIL_SIZE + ".") : key;
+        return root.resolve(key.substring(0, 2)).resolve(name);
+    }
+
+    private static BufferedImage decode(byte[] content) {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(content))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new RuntimeException("Format d'image non supporté (PNG, JPEG, GIF ou BMP)");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                if (reader.getWidth(0) > MAX_DIMENSION || reader.getHeight(0) > MAX_DIMENSION) {
+                    throw new RuntimeException("L'image dépasse " + MAX_DIMENSION + " pixels de côté");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        } catch (IOException e) {
+            throw new RuntimeException("Image illisible");
+        }
+    }
+
+    /**
+     * Réduction (jamais d'agrandissement) ; la vignette est recadrée au centre en carré, comme son affichage.
+     */
+    private static BufferedImage resize(BufferedImage source, int size, boolean square) {
+        int sx = 0, sy = 0, sw = source.getWidth(), sh = source.getHeight();
+        if (square) {
+            int side = Math.min(sw, sh);
+            sx = (sw - side) / 2;
+            sy = (sh - side) / 2;
+            sw = sh = side;
+        }
+        double scale = Math.min(1.0, (double) size / Math.max(sw, sh));
+        int width = Math.max(1, (int) Math.round(sw * scale));
+        int height = Math.max(1, (int) Math.round(sh * scale));
+
+        boolean alpha = source.getColorModel().hasAlpha();
+        BufferedImage target = new BufferedImage(width, height, alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = target.createGraphics();
+        try {
+            graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BICUBIC);
+            graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            graphics.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+            graphics.drawImage(source, 0, 0, width, height, sx, sy, sx + sw, sy + sh, null);
+        } finally {
+            graphics.dispose();
+        }
+        return target;
+    }
+
+    // Écriture dans un fichier temporaire du même répertoire puis renommage : jamais de fichier partiel visible
+    private static void write(BufferedImage image, String format, Path target) throws IOException {
+        ByteArrayOutputStream encoded = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, "jpg".equals(format) ? "jpeg" : format, encoded)) {
+            throw new IOException("Aucun encodeur pour " + format);
+        }
+        Path temp = Files.createTempFile(target.getParent(), ".upload-", ".tmp");
+        try {
+            Files.write(temp, encoded.toByteArray());
+            try {
+                Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target);
+            }
+        } catch (FileAlreadyExistsException e) {
+            // Même contenu envoyé en parallèle : le fichier déjà présent est identique
+            log.debug("Avatar déjà présent : {}", target.getFileName());
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static String sha256(byte[] content) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(content));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
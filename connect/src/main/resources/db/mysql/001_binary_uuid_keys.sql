@@ -0,0 +1,44 @@
+-- Passage des identifiants VARCHAR(36) en BINARY(16) (MySQL 8).
+-- Les valeurs existantes sont conservées (UUID_TO_BIN, octets dans l'ordre standard) : liens, tokens
+-- et curseurs de pagination restent valides. Seuls les nouveaux identifiants sont des UUID v7.
+-- ddl-auto=update ne change pas le type d'une colonne existante : script à passer une fois,
+-- application arrêtée, après sauvegarde. Vérifier les noms des clés étrangères (SHOW CREATE TABLE)
+-- s'ils diffèrent de ceux générés par Hibernate.
+--
+-- Chaque colonne passe par VARBINARY(36), qui garde les octets de la chaîne, puis UUID_TO_BIN
+-- remplace la valeur par ses 16 octets ; les index et contraintes existants sont conservés.
+
+SET FOREIGN_KEY_CHECKS = 0;
+
+ALTER TABLE event_participants
+    DROP FOREIGN KEY FKre6m0d4mgt4351tytlkac9jvf,
+    DROP FOREIGN KEY FK2x391urx4up03f4jp2y9mdt5x;
+ALTER TABLE events DROP FOREIGN KEY FKmpv90a1lsx9lcxsj7xjcvvsxg;
+
+ALTER TABLE users MODIFY id VARBINARY(36) NOT NULL;
+UPDATE users SET id = UUID_TO_BIN(CAST(id AS CHAR(36)));
+ALTER TABLE users MODIFY id BINARY(16) NOT NULL;
+
+ALTER TABLE events MODIFY id VARBINARY(36) NOT NULL, MODIFY created_by VARBINARY(36) NOT NULL;
+UPDATE events SET id = UUID_TO_BIN(CAST(id AS CHAR(36))), created_by = UUID_TO_BIN(CAST(created_by AS CHAR(36)));
+ALTER TABLE events MODIFY id BINARY(16) NOT NULL, MODIFY created_by BINARY(16) NOT NULL;
+
+ALTER TABLE event_participants MODIFY event_id VARBINARY(36) NOT NULL, MODIFY user_id VARBINARY(36) NOT NULL;
+UPDATE event_participants SET event_id = UUID_TO_BIN(CAST(event_id AS CHAR(36))),
+                              user_id = UUID_TO_BIN(CAST(user_id AS CHAR(36)));
+ALTER TABLE event_participants MODIFY event_id BINARY(16) NOT NULL, MODIFY user_id BINARY(16) NOT NULL;
+
+ALTER TABLE event_waitlist MODIFY event_id VARBINARY(36) NOT NULL, MODIFY user_id VARBINARY(36) NOT NULL;
+UPDATE event_waitlist SET event_id = UUID_TO_BIN(CAST(event_id AS CHAR(36))),
+                          user_id = UUID_TO_BIN(CAST(user_id AS CHAR(36)));
+ALTER TABLE event_waitlist MODIFY event_id BINARY(16) NOT NULL, MODIFY user_id BINARY(16) NOT NULL;
+
+ALTER TABLE event_participants
+    ADD CONSTRAINT FKre6m0d4mgt4351tytlkac9jvf FOREIGN KEY (user_id) REFERENCES users (id),
+    ADD CONSTRAINT FK2x391urx4up03f4jp2y9mdt5x FOREIGN KEY (event_id) REFERENCES events (id);
+ALTER TABLE events ADD CONSTRAINT FKmpv90a1lsx9lcxsj7xjcvvsxg FOREIGN KEY (created_by) REFERENCES users (id);
+
+SET FOREIGN_KEY_CHECKS = 1;
+
+-- Reconstruit les index pour récupérer la place libérée
+OPTIMIZE TABLE users, events, event_participants, event_waitlist;
@@ -0,0 +1,15 @@
+-- Index composites de la liste des événements (GET /api/events).
+-- (type, date, id) : filtre type + intervalle de dates, ex. les forums à venir, lu comme un parcours de
+-- plage déjà trié par (date, id) ; id suit l'ordre de la pagination par curseur.
+-- (date, id) : même parcours sans filtre de type.
+-- À passer avant le déploiement : sinon ddl-auto=update crée les index au démarrage, sans construction en ligne.
+-- Ajout en ligne (InnoDB) : les écritures sur events ne sont pas bloquées pendant la construction.
+
+ALTER TABLE events
+    ADD INDEX idx_events_type_date (type, date, id),
+    ADD INDEX idx_events_date (date, id),
+    ALGORITHM = INPLACE, LOCK = NONE;
+
+-- Vérification :
+-- EXPLAIN SELECT * FROM events WHERE type = 'FORUM' AND date >= NOW() ORDER BY date, id LIMIT 21;
+-- attendu : type = range, key = idx_events_type_date, pas de "Using filesort".
@@ -0,0 +1,11 @@
+-- users.avatar ne contient plus que la clé du fichier (hachage SHA-256 + extension, 68 caractères) ;
+-- les images sont sur disque (app.avatars.dir). Les data URL existantes sont déplacées au démarrage
+-- de l'application (AvatarMigrationService).
+-- Si la colonne avait été élargie pour les data URL, la ramener à sa taille d'origine une fois le
+-- démarrage terminé, ce qui rend aussi l'espace occupé par les images dans la table.
+
+-- Doit renvoyer 0 avant de continuer :
+SELECT COUNT(*) FROM users WHERE avatar LIKE 'data:%';
+
+ALTER TABLE users MODIFY avatar VARCHAR(255) NULL, ALGORITHM = COPY;
+OPTIMIZE TABLE users;
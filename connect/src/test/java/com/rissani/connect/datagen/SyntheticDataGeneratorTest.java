@@ -0,0 +1,96 @@
+package com.rissani.connect.datagen;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Base H2 à part : la génération remplit des tables entières
+@SpringBootTest(properties = {
+        "spring.profiles.active=dev",
+        "spring.datasource.url=jdbc:h2:mem:rissani_datagen;IGNORECASE=TRUE",
+        "spring.jpa.show-sql=false"
+})
+class SyntheticDataGeneratorTest {
+
+    private static final DataGenerationSettings SETTINGS = new DataGenerationSettings(
+            5_000, 200, 50_000, 7L, 1_000, 1.0, LocalDate.of(2026, 1, 15));
+
+    @Autowired
+    private SyntheticDataGenerator generator;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM event_participants");
+        jdbcTemplate.update("DELETE FROM events");
+        jdbcTemplate.update("DELETE FROM users WHERE role = 'USER'");
+    }
+
+    @Test
+    void sameSeedProducesTheSameRows() {
+        generator.generate(SETTINGS, "hash");
+        List<Object> first = fingerprint();
+        cleanUp();
+        generator.generate(SETTINGS, "hash");
+
+        assertThat(fingerprint()).isEqualTo(first);
+    }
+
+    @Test
+    void participationsAreSkewedAndCountersMatchTheJoinTable() {
+        SyntheticDataGenerator.Report report = generator.generate(SETTINGS, "hash");
+
+        assertThat(count("SELECT COUNT(*) FROM users WHERE role = 'USER'")).isEqualTo(5_000);
+        assertThat(count("SELECT COUNT(*) FROM events")).isEqualTo(200);
+        assertThat(count("SELECT COUNT(*) FROM event_participants")).isEqualTo(report.participations());
+        // Les plafonds (capacité, nombre d'utilisateurs) retirent une partie des participations demandées
+        assertThat(report.participations()).isBetween(30_000L, 50_000L);
+        assertThat(count("SELECT COUNT(*) FROM events e WHERE e.nombre_participants <> "
+                + "(SELECT COUNT(*) FROM event_participants p WHERE p.event_id = e.id)")).isZero();
+        assertThat(count("SELECT COUNT(*) FROM events WHERE nombre_participants > capacite")).isZero();
+
+        List<Integer> perEvent = jdbcTemplate.queryForList(
+                "SELECT nombre_participants FROM events ORDER BY nombre_participants DESC", Integer.class);
+        assertThat(perEvent.get(0)).isGreaterThan(20 * Math.max(1, perEvent.get(perEvent.size() / 2)));
+
+        assertThat(jdbcTemplate.queryForObject("SELECT filiere_bac FROM users WHERE role = 'USER' "
+                + "GROUP BY filiere_bac ORDER BY COUNT(*) DESC LIMIT 1", String.class))
+                .isEqualTo("Sciences Expérimentales");
+        assertThat(count("SELECT COUNT(DISTINCT statut) FROM users WHERE role = 'USER'")).isEqualTo(2);
+        assertThat(count("SELECT COUNT(DISTINCT type) FROM events")).isEqualTo(3);
+        assertThat(count("SELECT COUNT(*) FROM users WHERE role = 'USER' "
+                + "AND (annee_bac < 1990 OR annee_bac > 2025)")).isZero();
+        assertThat(count("SELECT COUNT(*) FROM events WHERE created_at > TIMESTAMP '2026-01-15 00:00:00'")).isZero();
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    private List<Object> fingerprint() {
+        List<Object> users = jdbcTemplate.query(
+                "SELECT id, email, annee_bac, filiere_bac, statut, created_at FROM users WHERE role = 'USER' ORDER BY id",
+                (rs, row) -> List.of(Arrays.toString(rs.getBytes(1)), rs.getString(2), rs.getInt(3),
+                        String.valueOf(rs.getString(4)), rs.getString(5), rs.getTimestamp(6)));
+        List<Object> events = jdbcTemplate.query(
+                "SELECT id, titre, date, type, nombre_participants FROM events ORDER BY id",
+                (rs, row) -> List.of(Arrays.toString(rs.getBytes(1)), rs.getString(2), rs.getTimestamp(3),
+                        rs.getString(4), rs.getInt(5)));
+        int[] participations = {1};
+        jdbcTemplate.query("SELECT event_id, user_id FROM event_participants ORDER BY event_id, user_id", rs -> {
+            participations[0] = 31 * (31 * participations[0] + Arrays.hashCode(rs.getBytes(1)))
+                    + Arrays.hashCode(rs.getBytes(2));
+        });
+        return List.of(users, events, participations[0]);
+    }
+}
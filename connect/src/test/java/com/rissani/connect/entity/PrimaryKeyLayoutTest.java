@@ -0,0 +1,120 @@
+package com.rissani.connect.entity;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Ancienne clé (UUID v4 en VARCHAR(36)) contre la nouvelle (UUID v7 en BINARY(16)) : ordre et aller-retour
+ * binaire des UUID v7, taille de la table avec un index secondaire (created_at, id) et une table de jointure.
+ * Débit d'insertion : PrimaryKeyLayoutBenchmark (profil jmh).
+ */
+class PrimaryKeyLayoutTest {
+
+    private static final int ROWS = 5_000;
+    private static final int BATCH = 1_000;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void uuidV7IsTimeOrderedAndRoundTripsThroughBinary() {
+        String previous = UuidV7.nextString();
+        for (int i = 0; i < 10_000; i++) {
+            String next = UuidV7.nextString();
+            assertTrue(next.compareTo(previous) > 0, previous + " >= " + next);
+            assertEquals(7, UUID.fromString(next).version());
+            assertEquals(2, UUID.fromString(next).variant());
+            assertEquals(next, BinaryUuidJavaType.fromBytes(BinaryUuidJavaType.toBytes(next)));
+            previous = next;
+        }
+        // Ordre des octets non signés = ordre des chaînes : ORDER BY id et curseurs restent cohérents
+        byte[] a = BinaryUuidJavaType.toBytes("7fffffff-0000-7000-8000-000000000000");
+        byte[] b = BinaryUuidJavaType.toBytes("80000000-0000-7000-8000-000000000000");
+        assertTrue(java.util.Arrays.compareUnsigned(a, b) < 0);
+        assertArrayEquals(a, BinaryUuidJavaType.toBytes(BinaryUuidJavaType.fromBytes(a)));
+    }
+
+    @Test
+    void binaryKeysTakeLessSpace() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:file:" + dir.resolve("keys"), "sa", "")) {
+            long legacy = fill(connection, "keys_v4", "VARCHAR(36)", false);
+            long compact = fill(connection, "keys_v7", "BINARY(16)", true);
+
+            assertTrue(compact < legacy, compact + " >= " + legacy);
+        }
+    }
+
+    private long fill(Connection connection, String table, String keyType, boolean v7) throws SQLException {
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE IF EXISTS " + table + "_participants");
+            ddl.execute("DROP TABLE IF EXISTS " + table);
+            ddl.execute("CREATE TABLE " + table + " (id " + keyType + " NOT NULL PRIMARY KEY, "
+                    + "created_at TIMESTAMP(6) NOT NULL, nom VARCHAR(255) NOT NULL)");
+            ddl.execute("CREATE INDEX " + table + "_created_at_id ON " + table + " (created_at, id)");
+            ddl.execute("CREATE TABLE " + table + "_participants (event_id " + keyType + " NOT NULL, "
+                    + "user_id " + keyType + " NOT NULL, CONSTRAINT " + table + "_uk UNIQUE (event_id, user_id))");
+            ddl.execute("CREATE INDEX " + table + "_user ON " + table + "_participants (user_id)");
+        }
+
+        // Les participations visent 100 événements : le cas réel de event_participants
+        Object[] events = new Object[100];
+        for (int i = 0; i < events.length; i++) {
+            events[i] = key(v7);
+        }
+        boolean autoCommit = connection.getAutoCommit();
+        connection.setAutoCommit(false);
+        try (PreparedStatement user = connection.prepareStatement(
+                "INSERT INTO " + table + " (id, created_at, nom) VALUES (?, ?, ?)");
+             PreparedStatement participant = connection.prepareStatement(
+                     "INSERT INTO " + table + "_participants (event_id, user_id) VALUES (?, ?)")) {
+            for (int i = 1; i <= ROWS; i++) {
+                Object id = key(v7);
+                user.setObject(1, id);
+                user.setTimestamp(2, Timestamp.valueOf(LocalDateTime.now()));
+                user.setString(3, "Alumni " + i);
+                user.addBatch();
+                participant.setObject(1, events[i % events.length]);
+                participant.setObject(2, id);
+                participant.addBatch();
+                if (i % BATCH == 0) {
+                    user.executeBatch();
+                    participant.executeBatch();
+                    connection.commit();
+                }
+            }
+            user.executeBatch();
+            participant.executeBatch();
+            connection.commit();
+        } finally {
+            connection.setAutoCommit(autoCommit);
+        }
+        return size(connection, table) + size(connection, table + "_participants");
+    }
+
+    private static Object key(boolean v7) {
+        return v7 ? BinaryUuidJavaType.toBytes(UuidV7.nextString()) : UUID.randomUUID().toString();
+    }
+
+    private static long size(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT DISK_SPACE_USED('" + table.toUpperCase() + "')")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+}
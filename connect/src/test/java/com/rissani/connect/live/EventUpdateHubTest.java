@@ -0,0 +1,180 @@
+package com.rissani.connect.live;
+
+import com.rissani.connect.dto.EventResponse;
+import com.rissani.connect.dto.EventUpdate;
+import com.rissani.connect.repository.UserRepository;
+import com.rissani.connect.security.JwtService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Flow;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.profiles.active=dev",
+        "spring.jpa.show-sql=false",
+        "app.live.write-timeout=1s",
+        "app.live.heartbeat-interval=PT1H"
+})
+class EventUpdateHubTest {
+
+    private static final int SUBSCRIBERS = 1_000;
+    private static final int STALLED = 12;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private EventUpdateHub hub;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private HttpClient client;
+    private String token;
+
+    @BeforeEach
+    void setUp() {
+        client = HttpClient.newHttpClient();
+        token = jwtService.generateToken(userRepository.findByEmail("admin.mouad@rissani.com").orElseThrow());
+    }
+
+    @AfterEach
+    void disconnect() throws InterruptedException {
+        client.shutdownNow();
+        // Les connexions fermées sont détectées à l'écriture suivante
+        awaitUntil(() -> {
+            hub.heartbeat();
+            return hub.stats().getSubscribers() == 0;
+        });
+    }
+
+    @Test
+    void everySubscriberReceivesEveryDeltaInOrder() throws Exception {
+        List<Lines> subscribers = new ArrayList<>();
+        for (int i = 0; i < SUBSCRIBERS; i++) {
+            subscribers.add(subscribe());
+        }
+        awaitUntil(() -> subscribers.stream().allMatch(s -> s.contains("event:ready")));
+        long first = hub.stats().getLastSequence() + 1;
+
+        for (int i = 0; i < 20; i++) {
+            hub.publish(EventUpdate.builder().type(EventUpdate.JOINED).eventId("e" + i).userId("u").build());
+        }
+
+        List<String> expected = new ArrayList<>();
+        for (long seq = first; seq < first + 20; seq++) {
+            expected.add("id:" + seq);
+        }
+        awaitUntil(() -> subscribers.stream().allMatch(s -> s.ids().size() == 20));
+        assertThat(subscribers).allSatisfy(s -> assertThat(s.ids()).containsExactlyElementsOf(expected));
+        assertThat(hub.stats().getSubscribers()).isGreaterThanOrEqualTo(SUBSCRIBERS);
+    }
+
+    @Test
+    void stalledSubscribersAreResyncedThenEvictedWithoutDelayingOthers() throws Exception {
+        Lines fast = subscribe();
+        // Clients qui ne lisent jamais : les tampons TCP se remplissent et l'écriture côté serveur bloque.
+        // Plus nombreux que les threads d'un pool fixe, qu'ils auraient tous immobilisés
+        List<Socket> stalled = new ArrayList<>();
+        for (int i = 0; i < STALLED; i++) {
+            Socket socket = new Socket();
+            socket.setReceiveBufferSize(1024);
+            socket.connect(new InetSocketAddress("localhost", port));
+            OutputStream out = socket.getOutputStream();
+            out.write(("GET /api/events/stream HTTP/1.1\r\nHost: localhost\r\nAuthorization: Bearer " + token
+                    + "\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+            out.flush();
+            stalled.add(socket);
+        }
+        awaitUntil(() -> fast.contains("event:ready") && hub.stats().getSubscribers() >= STALLED + 1);
+        long evictedBefore = hub.stats().getEvicted();
+        long resyncsBefore = hub.stats().getResyncs();
+
+        EventResponse bulky = EventResponse.builder().id("bulky").description("x".repeat(4_000)).build();
+        for (int i = 0; i < 3_000; i++) {
+            hub.publish(EventUpdate.builder().type(EventUpdate.CREATED).eventId("bulky").event(bulky).build());
+        }
+        Thread.sleep(1_500);
+        hub.heartbeat();
+
+        assertThat(hub.stats().getResyncs()).isGreaterThan(resyncsBefore);
+        assertThat(hub.stats().getEvicted()).isEqualTo(evictedBefore + STALLED);
+
+        // Le client rapide continue de recevoir normalement
+        hub.publish(EventUpdate.builder().type(EventUpdate.DELETED).eventId("marker").build());
+        awaitUntil(() -> fast.contains("\"eventId\":\"marker\""));
+        for (Socket socket : stalled) {
+            socket.close();
+        }
+    }
+
+    private Lines subscribe() {
+        Lines lines = new Lines();
+        HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/events/stream"))
+                .header("Authorization", "Bearer " + token)
+                .build();
+        client.sendAsync(request, HttpResponse.BodyHandlers.fromLineSubscriber(lines));
+        return lines;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(30).toNanos();
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("délai dépassé").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private static final class Lines implements Flow.Subscriber<String> {
+
+        private final List<String> received = new CopyOnWriteArrayList<>();
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            subscription.request(Long.MAX_VALUE);
+        }
+
+        @Override
+        public void onNext(String line) {
+            received.add(line);
+        }
+
+        @Override
+        public void onError(Throwable throwable) {
+        }
+
+        @Override
+        public void onComplete() {
+        }
+
+        boolean contains(String fragment) {
+            return received.stream().anyMatch(line -> line.contains(fragment));
+        }
+
+        List<String> ids() {
+            return received.stream().filter(line -> line.startsWith("id:")).toList();
+        }
+    }
+}
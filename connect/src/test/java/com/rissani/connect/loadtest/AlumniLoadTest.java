@@ -0,0 +1,306 @@
+package com.rissani.connect.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.rissani.connect.datagen.DataGenerationSettings;
+import com.rissani.connect.datagen.SyntheticDataGenerator;
+import com.rissani.connect.search.UserSearchIndex;
+import com.rissani.connect.security.JwtService;
+import com.rissani.connect.stats.DashboardCounters;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.rissani.connect.entity.BinaryUuidJavaType.toBytes;
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Campagne de charge sur le profil H2 : l'application démarre sur un port aléatoire, la base est remplie par
+ * le générateur de données synthétiques (volumes de loadtest.properties), puis des clients HTTP rejouent
+ * connexions en rafale, navigation dans l'annuaire, liste des événements, rafale de participations et un
+ * mélange des quatre. p50 / p99 et débit de chaque scénario sont affichés et écrits dans
+ * target/loadtest-report.json ; un seuil dépassé fait échouer le build.
+ * Exclue du build normal : mvn -Ploadtest test
+ */
+@Tag("loadtest")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.profiles.active=dev",
+        "spring.datasource.url=jdbc:h2:mem:rissani_loadtest;IGNORECASE=TRUE",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.springframework.security=INFO",
+        "security.auth-rate-limit.ip.capacity=1000000",
+        "security.auth-rate-limit.email.capacity=1000000"
+})
+class AlumniLoadTest {
+
+    private static final String[] STATUTS = {"ETUDIANT", "EMPLOYE"};
+    private static final String[] TYPES = {"FORUM", "RENCONTRE", "AUTRE"};
+
+    private final LoadTestSettings settings = LoadTestSettings.load();
+    private final HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final AtomicInteger participations = new AtomicInteger();
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private SyntheticDataGenerator dataGenerator;
+
+    @Autowired
+    private UserSearchIndex userSearchIndex;
+
+    @Autowired
+    private DashboardCounters dashboardCounters;
+
+    private LoadTestDataSeeder.Dataset dataset;
+    private DirectoryBrowsing mixedBrowsing;
+    // Un jeton par client : la signature ne doit pas compter dans la latence mesurée
+    private final Map<Integer, String> tokens = new ConcurrentHashMap<>();
+
+    @Test
+    void mixedWorkloadsStayWithinThresholds() throws Exception {
+        seed();
+
+        List<LatencyRecorder.Result> results = new ArrayList<>();
+        results.add(run("login", this::login));
+        results.add(run("directory", new DirectoryBrowsing(settings.intValue("loadtest.directory.threads"))::next));
+        results.add(run("events", this::listEvents));
+        results.add(run("participation", this::participate));
+        mixedBrowsing = new DirectoryBrowsing(settings.intValue("loadtest.mixed.threads"));
+        results.add(run("mixed", this::mixed));
+
+        report(results);
+        int capacity = settings.intValue("loadtest.storm-capacity");
+        for (String eventId : dataset.stormEventIds()) {
+            assertThat(participantRows(eventId)).isLessThanOrEqualTo(capacity);
+        }
+        List<String> violations = new ArrayList<>();
+        for (LatencyRecorder.Result result : results) {
+            violations.addAll(result.violations(settings.thresholds(result.scenario())));
+        }
+        assertThat(violations).as("Seuils de charge dépassés").isEmpty();
+    }
+
+    private void seed() {
+        long start = System.currentTimeMillis();
+        DataGenerationSettings generation = new DataGenerationSettings(
+                settings.intValue("loadtest.users"),
+                settings.intValue("loadtest.events"),
+                settings.intValue("loadtest.participations"),
+                settings.intValue("loadtest.seed"),
+                5_000,
+                settings.doubleValue("loadtest.participation-skew"),
+                LocalDate.now());
+        dataset = new LoadTestDataSeeder(dataGenerator, jdbcTemplate).seed(
+                generation,
+                settings.intValue("loadtest.storm-events"),
+                settings.intValue("loadtest.storm-capacity"),
+                passwordEncoder.encode(LoadTestDataSeeder.PASSWORD));
+        // Insertions hors application : index de recherche et statistiques à reconstruire
+        userSearchIndex.rebuild();
+        dashboardCounters.reconcile();
+        System.out.printf("Load test data: %d users, %d events, %d participations seeded in %d ms%n",
+                dataset.userIds().size(), dataset.report().events() + dataset.stormEventIds().size(),
+                dataset.report().participations(), System.currentTimeMillis() - start);
+    }
+
+    // ============ SCÉNARIOS ============
+
+    private int login(int thread, int iteration) throws Exception {
+        int user = ThreadLocalRandom.current().nextInt(dataset.userIds().size());
+        String body = objectMapper.writeValueAsString(Map.of(
+                "email", dataset.emails().get(user), "password", LoadTestDataSeeder.PASSWORD));
+        return send(HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))).statusCode();
+    }
+
+    /**
+     * Une page d'annuaire filtrée, puis les deux pages suivantes via le curseur (mêmes filtres), par client.
+     */
+    private final class DirectoryBrowsing {
+
+        private final String[] filters;
+        private final String[] cursors;
+
+        DirectoryBrowsing(int threads) {
+            filters = new String[threads];
+            cursors = new String[threads];
+        }
+
+        int next(int thread, int iteration) throws Exception {
+            if (iteration % 3 == 0 || cursors[thread] == null) {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                filters[thread] = "statut=" + STATUTS[random.nextInt(STATUTS.length)]
+                        + (random.nextBoolean() ? "&anneeBac=" + (1990 + random.nextInt(LocalDate.now().getYear() - 1990)) : "");
+                cursors[thread] = null;
+            }
+            String path = "/api/users?size=20&" + filters[thread]
+                    + (cursors[thread] != null ? "&cursor=" + URLEncoder.encode(cursors[thread], StandardCharsets.UTF_8) : "");
+            HttpResponse<String> response = send(authorized(path, thread));
+            if (response.statusCode() != 200) {
+                return response.statusCode();
+            }
+            JsonNode nextCursor = objectMapper.readTree(response.body()).get("nextCursor");
+            cursors[thread] = nextCursor == null || nextCursor.isNull() ? null : nextCursor.asText();
+            return response.statusCode();
+        }
+    }
+
+    private int listEvents(int thread, int iteration) throws Exception {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        LocalDateTime from = LocalDateTime.now().minusDays(365).plusDays(random.nextInt(700)).withNano(0);
+        String path = "/api/events?size=20&type=" + TYPES[random.nextInt(TYPES.length)]
+                + "&from=" + from + "&to=" + from.plusDays(30);
+        return send(authorized(path, thread)).statusCode();
+    }
+
+    /**
+     * Inscription d'un utilisateur jamais encore inscrit sur l'un des événements « rafale » : les premiers
+     * prennent les places, les suivants passent en liste d'attente.
+     */
+    private int participate(int thread, int iteration) throws Exception {
+        int n = participations.getAndIncrement();
+        List<String> storm = dataset.stormEventIds();
+        int user = n / storm.size();
+        if (user >= dataset.userIds().size()) {
+            throw new IllegalStateException("Plus d'utilisateurs disponibles pour la rafale de participations");
+        }
+        String token = jwtService.generateToken(dataset.user(user));
+        return send(HttpRequest.newBuilder(uri("/api/events/" + storm.get(n % storm.size()) + "/participate"))
+                .header("Authorization", "Bearer " + token)
+                .POST(HttpRequest.BodyPublishers.noBody())).statusCode();
+    }
+
+    // 5 % connexions, 45 % annuaire, 35 % événements, 15 % participations
+    private int mixed(int thread, int iteration) throws Exception {
+        int pick = ThreadLocalRandom.current().nextInt(100);
+        if (pick < 5) {
+            return login(thread, iteration);
+        }
+        if (pick < 50) {
+            return mixedBrowsing.next(thread, iteration);
+        }
+        if (pick < 85) {
+            return listEvents(thread, iteration);
+        }
+        return participate(thread, iteration);
+    }
+
+    // ============ EXÉCUTION ============
+
+    private LatencyRecorder.Result run(String scenario, Step step) throws Exception {
+        int threads = settings.intValue("loadtest." + scenario + ".threads");
+        int requests = settings.intValue("loadtest." + scenario + ".requests");
+        LatencyRecorder recorder = new LatencyRecorder(scenario);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < requests; i++) {
+                    long begin = System.nanoTime();
+                    int status;
+                    try {
+                        status = step.run(thread, i);
+                    } catch (IOException e) {
+                        status = LatencyRecorder.NO_RESPONSE;
+                    }
+                    recorder.record(System.nanoTime() - begin, status);
+                }
+                return null;
+            }));
+        }
+        long begin = System.nanoTime();
+        start.countDown();
+        try {
+            for (Future<?> future : futures) {
+                future.get(10, TimeUnit.MINUTES);
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        LatencyRecorder.Result result = recorder.result(System.nanoTime() - begin);
+        System.out.println(result);
+        return result;
+    }
+
+    private void report(List<LatencyRecorder.Result> results) throws Exception {
+        Map<String, Object> report = new LinkedHashMap<>();
+        for (LatencyRecorder.Result result : results) {
+            report.put(result.scenario(), Map.of(
+                    "result", result,
+                    "thresholds", settings.thresholds(result.scenario())));
+        }
+        Path file = Path.of(System.getProperty("loadtest.report", "target/loadtest-report.json"));
+        Files.createDirectories(file.toAbsolutePath().getParent());
+        objectMapper.writer(SerializationFeature.INDENT_OUTPUT).writeValue(file.toFile(), report);
+        System.out.println("Load test report written to " + file.toAbsolutePath());
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest.Builder authorized(String path, int thread) {
+        String token = tokens.computeIfAbsent(thread,
+                t -> jwtService.generateToken(dataset.user(t % dataset.userIds().size())));
+        return HttpRequest.newBuilder(uri(path)).header("Authorization", "Bearer " + token);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private int participantRows(String eventId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM event_participants WHERE event_id = ?", Integer.class, toBytes(eventId));
+    }
+
+    @FunctionalInterface
+    private interface Step {
+        // Code HTTP de la réponse
+        int run(int thread, int iteration) throws Exception;
+    }
+}
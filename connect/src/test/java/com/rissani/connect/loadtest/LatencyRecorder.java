@@ -0,0 +1,107 @@
+package com.rissani.connect.loadtest;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latences d'un scénario, en nanosecondes. Le verrou ne coûte rien à côté d'un aller-retour HTTP.
+ */
+final class LatencyRecorder {
+
+    // Connexion refusée ou coupée, sans réponse HTTP
+    static final int NO_RESPONSE = 0;
+    static final int SHED = 503;
+
+    private final String scenario;
+    private long[] latencies = new long[1024];
+    private int count;
+    private int errors;
+    // Réponses hors 2xx par code : distingue le délestage (503) d'une vraie erreur
+    private final Map<Integer, Integer> errorStatuses = new TreeMap<>();
+
+    LatencyRecorder(String scenario) {
+        this.scenario = scenario;
+    }
+
+    synchronized void record(long nanos, int status) {
+        if (count == latencies.length) {
+            latencies = Arrays.copyOf(latencies, count * 2);
+        }
+        latencies[count++] = nanos;
+        if (status < 200 || status >= 300) {
+            errors++;
+            errorStatuses.merge(status, 1, Integer::sum);
+        }
+    }
+
+    synchronized Result result(long wallNanos) {
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        return new Result(scenario, count, errors, new TreeMap<>(errorStatuses),
+                millis(percentile(sorted, 0.50)),
+                millis(percentile(sorted, 0.99)),
+                millis(count == 0 ? 0 : sorted[count - 1]),
+                wallNanos == 0 ? 0 : count * (double) TimeUnit.SECONDS.toNanos(1) / wallNanos);
+    }
+
+    // Rang le plus proche : la plus petite latence dont la part des requêtes au moins aussi rapides atteint p
+    private static long percentile(long[] sorted, double p) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        return sorted[Math.max(0, (int) Math.ceil(p * sorted.length) - 1)];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    record Result(String scenario, int requests, int errors, Map<Integer, Integer> errorStatuses,
+                  double p50Millis, double p99Millis, double maxMillis, double throughput) {
+
+        int shed() {
+            return errorStatuses.getOrDefault(SHED, 0);
+        }
+
+        double errorRate() {
+            return requests == 0 ? 0 : (double) (errors - shed()) / requests;
+        }
+
+        double shedRate() {
+            return requests == 0 ? 0 : (double) shed() / requests;
+        }
+
+        List<String> violations(LoadTestSettings.Thresholds thresholds) {
+            List<String> violations = new ArrayList<>();
+            if (p50Millis > thresholds.p50Millis()) {
+                violations.add(String.format("%s : p50 %.1f ms > %.1f ms", scenario, p50Millis, thresholds.p50Millis()));
+            }
+            if (p99Millis > thresholds.p99Millis()) {
+                violations.add(String.format("%s : p99 %.1f ms > %.1f ms", scenario, p99Millis, thresholds.p99Millis()));
+            }
+            if (throughput < thresholds.minThroughput()) {
+                violations.add(String.format("%s : débit %.0f req/s < %.0f req/s",
+                        scenario, throughput, thresholds.minThroughput()));
+            }
+            if (errorRate() > thresholds.maxErrorRate()) {
+                violations.add(String.format("%s : %d erreurs sur %d requêtes %s",
+                        scenario, errors - shed(), requests, errorStatuses));
+            }
+            if (shedRate() > thresholds.maxShedRate()) {
+                violations.add(String.format("%s : %d requêtes délestées (503) sur %d", scenario, shed(), requests));
+            }
+            return violations;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%-14s %7d req  %5d err  p50 %8.1f ms  p99 %8.1f ms  max %8.1f ms  %8.0f req/s%s",
+                    scenario, requests, errors, p50Millis, p99Millis, maxMillis, throughput,
+                    errorStatuses.isEmpty() ? "" : "  " + errorStatuses);
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.rissani.connect.loadtest;
+
+import com.rissani.connect.datagen.DataGenerationSettings;
+import com.rissani.connect.datagen.SyntheticDataGenerator;
+import com.rissani.connect.entity.BinaryUuidJavaType;
+import com.rissani.connect.entity.User;
+import com.rissani.connect.entity.UuidV7;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Volumes de la campagne de charge : le jeu de données synthétique (graine fixe), plus des événements
+ * « rafale » vides à capacité limitée, cibles de la rafale de participations. Tous les comptes partagent
+ * le même hash : hacher 100 000 mots de passe prendrait plus longtemps que la campagne.
+ */
+final class LoadTestDataSeeder {
+
+    static final String PASSWORD = "LoadTest123!";
+
+    private static final String STORM_EVENT_SQL = "INSERT INTO events (id, titre, description, date, lieu, type, "
+            + "capacite, nombre_participants, created_by, created_at, version) "
+            + "VALUES (?, ?, 'Charge', ?, 'Rissani', 'FORUM', ?, 0, ?, ?, 0)";
+
+    private final SyntheticDataGenerator generator;
+    private final JdbcTemplate jdbcTemplate;
+
+    LoadTestDataSeeder(SyntheticDataGenerator generator, JdbcTemplate jdbcTemplate) {
+        this.generator = generator;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    Dataset seed(DataGenerationSettings settings, int stormEvents, int stormCapacity, String passwordHash) {
+        SyntheticDataGenerator.Report report = generator.generate(settings, passwordHash);
+
+        List<String> userIds = new ArrayList<>(settings.users());
+        List<String> emails = new ArrayList<>(settings.users());
+        jdbcTemplate.query("SELECT id, email FROM users WHERE role = 'USER' ORDER BY created_at, id", rs -> {
+            userIds.add(BinaryUuidJavaType.fromBytes(rs.getBytes(1)));
+            emails.add(rs.getString(2));
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        List<String> stormIds = new ArrayList<>(stormEvents);
+        for (int i = 0; i < stormEvents; i++) {
+            stormIds.add(UuidV7.nextString());
+        }
+        jdbcTemplate.batchUpdate(STORM_EVENT_SQL, stormIds, stormIds.size(), (ps, id) -> {
+            ps.setBytes(1, BinaryUuidJavaType.toBytes(id));
+            ps.setString(2, "Rafale de participations");
+            ps.setTimestamp(3, Timestamp.valueOf(now.plusDays(30)));
+            ps.setInt(4, stormCapacity);
+            ps.setBytes(5, BinaryUuidJavaType.toBytes(userIds.get(0)));
+            ps.setTimestamp(6, Timestamp.valueOf(now));
+        });
+
+        return new Dataset(userIds, emails, stormIds, report);
+    }
+
+    record Dataset(List<String> userIds, List<String> emails, List<String> stormEventIds,
+                   SyntheticDataGenerator.Report report) {
+
+        User user(int index) {
+            return User.builder().id(userIds.get(index)).email(emails.get(index)).role(User.Role.USER).build();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.rissani.connect.loadtest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Réglages de la campagne de charge : loadtest.properties, chaque clé surchargeable en propriété système.
+ */
+final class LoadTestSettings {
+
+    private final Properties properties = new Properties();
+
+    private LoadTestSettings() {
+    }
+
+    static LoadTestSettings load() {
+        LoadTestSettings settings = new LoadTestSettings();
+        try (InputStream in = LoadTestSettings.class.getResourceAsStream("/loadtest.properties")) {
+            if (in != null) {
+                settings.properties.load(in);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Lecture de loadtest.properties impossible", e);
+        }
+        return settings;
+    }
+
+    int intValue(String key) {
+        return Integer.parseInt(value(key));
+    }
+
+    double doubleValue(String key) {
+        return Double.parseDouble(value(key));
+    }
+
+    Thresholds thresholds(String scenario) {
+        String prefix = "loadtest." + scenario + ".";
+        return new Thresholds(
+                doubleValue(prefix + "p50-ms"),
+                doubleValue(prefix + "p99-ms"),
+                doubleValue(prefix + "min-throughput"),
+                doubleValue(prefix + "max-error-rate"),
+                doubleValue(prefix + "max-shed-rate"));
+    }
+
+    private String value(String key) {
+        String value = System.getProperty(key, properties.getProperty(key));
+        if (value == null || value.isBlank()) {
+            throw new IllegalStateException("Réglage de charge manquant : " + key);
+        }
+        return value.trim();
+    }
+
+    // maxShedRate : part tolérée de 503 (délestage voulu, ex. file BCrypt pleine), hors maxErrorRate
+    record Thresholds(double p50Millis, double p99Millis, double minThroughput, double maxErrorRate,
+                      double maxShedRate) {
+    }
+}
@@ -0,0 +1,78 @@
+package com.rissani.connect.metrics;
+
+import com.rissani.connect.repository.UserRepository;
+import com.rissani.connect.security.JwtService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Sans cette annotation, les tests n'exportent aucune métrique (registre simple, pas de Prometheus)
+@AutoConfigureObservability(tracing = false)
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.profiles.active=dev",
+        "spring.jpa.show-sql=false"
+})
+class RequestMetricsTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private JwtService jwtService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void requestsAreTimedAndTheirStatementsCountedPerControllerMethod() throws Exception {
+        String token = jwtService.generateToken(userRepository.findByEmail("admin.mouad@rissani.com").orElseThrow());
+        for (int i = 0; i < 3; i++) {
+            assertThat(get("/api/users?size=5", token).statusCode()).isEqualTo(200);
+        }
+
+        DistributionSummary statements = meterRegistry.get("hibernate.statements.per.request")
+                .tag("handler", "UserController.searchUsers").summary();
+        assertThat(statements.count()).isEqualTo(3);
+        // Au moins la page de l'annuaire à chaque requête
+        assertThat(statements.totalAmount()).isGreaterThanOrEqualTo(3);
+        assertThat(meterRegistry.get("security.jwt.verify").tag("result", "valid").timer().count())
+                .isGreaterThanOrEqualTo(3);
+
+        // Actuator sur le port de l'application : scrape réservé aux ADMIN, histogrammes inclus
+        assertThat(get("/actuator/prometheus", null).statusCode()).isIn(401, 403);
+        assertThat(get("/actuator/health", null).statusCode()).isEqualTo(200);
+        HttpResponse<String> scrape = get("/actuator/prometheus", token);
+        assertThat(scrape.statusCode()).isEqualTo(200);
+        assertThat(scrape.body())
+                .contains("http_server_requests_seconds_bucket{")
+                .containsPattern("http_server_requests_seconds_count\\{.*handler=\"UserController.searchUsers\"")
+                .contains("hibernate_statements_per_request_statements_bucket{")
+                .contains("hikaricp_connections_acquire_seconds_bucket{")
+                .contains("security_password_hashing_seconds_bucket{")
+                .contains("cache_gets_total{");
+    }
+
+    private HttpResponse<String> get(String path, String token) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (token != null) {
+            request.header("Authorization", "Bearer " + token);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
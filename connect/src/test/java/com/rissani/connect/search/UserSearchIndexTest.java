@@ -0,0 +1,41 @@
+package com.rissani.connect.search;
+
+import com.rissani.connect.dto.UserSearchHit;
+import com.rissani.connect.entity.User;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UserSearchIndexTest {
+
+    private final UserSearchIndex index = new UserSearchIndex(null);
+
+    @Test
+    void matchesAccentAndSpacingVariants() {
+        index.upsert(user("1", "Ben Aïssa", "Youssef", "Génie civil"));
+        index.upsert(user("2", "El Idrissi", "Fatima", "Médecine"));
+
+        for (String query : List.of("Benaissa", "ben aissa", "BEN AÏSSA", "benaïs")) {
+            List<UserSearchHit> hits = index.search(query, 5);
+            assertEquals("1", hits.get(0).getId(), query);
+        }
+        assertEquals("2", index.search("medecine", 5).get(0).getId());
+    }
+
+    @Test
+    void upsertReplacesPreviousValues() {
+        index.upsert(user("1", "Alaoui", "Sara", null));
+        index.upsert(user("1", "Tazi", "Sara", null));
+
+        assertTrue(index.search("alaoui", 5).isEmpty());
+        assertEquals("1", index.search("tazi", 5).get(0).getId());
+        assertEquals(1, index.stats().getDocuments());
+    }
+
+    private static User user(String id, String nom, String prenom, String specialite) {
+        return User.builder().id(id).nom(nom).prenom(prenom).specialite(specialite).build();
+    }
+}
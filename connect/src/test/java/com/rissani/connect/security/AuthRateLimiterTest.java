@@ -0,0 +1,53 @@
+package com.rissani.connect.security;
+
+import com.rissani.connect.exception.TooManyRequestsException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthRateLimiterTest {
+
+    @Test
+    void limitsPerEmailRegardlessOfCase() {
+        AuthRateLimiter limiter = new AuthRateLimiter(100, Duration.ofMinutes(1), 3, Duration.ofMinutes(1), 1000);
+
+        for (int i = 0; i < 3; i++) {
+            String ip = "10.0.0." + i;
+            assertDoesNotThrow(() -> limiter.check(ip, "Sara@Rissani.com"));
+        }
+        TooManyRequestsException ex = assertThrows(TooManyRequestsException.class,
+                () -> limiter.check("10.0.0.9", "sara@rissani.com "));
+        assertTrue(ex.getRetryAfterSeconds() >= 1 && ex.getRetryAfterSeconds() <= 20);
+        assertDoesNotThrow(() -> limiter.check("10.0.0.9", "autre@rissani.com"));
+    }
+
+    @Test
+    void limitsPerIpAcrossEmails() {
+        AuthRateLimiter limiter = new AuthRateLimiter(5, Duration.ofMinutes(1), 100, Duration.ofMinutes(1), 1000);
+
+        for (int i = 0; i < 5; i++) {
+            String email = "user" + i + "@rissani.com";
+            assertDoesNotThrow(() -> limiter.check("10.0.0.1", email));
+        }
+        assertThrows(TooManyRequestsException.class, () -> limiter.check("10.0.0.1", "user9@rissani.com"));
+        assertDoesNotThrow(() -> limiter.check("10.0.0.2", "user9@rissani.com"));
+        assertEquals(1, limiter.stats().getRejectedByIp());
+    }
+
+    @Test
+    void refillsOverTime() throws InterruptedException {
+        AuthRateLimiter limiter = new AuthRateLimiter(2, Duration.ofMillis(200), 100, Duration.ofMinutes(1), 1000);
+
+        limiter.check("10.0.0.1", null);
+        limiter.check("10.0.0.1", null);
+        assertThrows(TooManyRequestsException.class, () -> limiter.check("10.0.0.1", null));
+
+        Thread.sleep(150);
+        assertDoesNotThrow(() -> limiter.check("10.0.0.1", null));
+    }
+}
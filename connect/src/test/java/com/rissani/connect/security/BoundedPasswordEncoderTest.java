@@ -0,0 +1,59 @@
+package com.rissani.connect.security;
+
+import com.rissani.connect.exception.ServiceUnavailableException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BoundedPasswordEncoderTest {
+
+    @Test
+    void rejectsImmediatelyWhenQueueIsFull() throws Exception {
+        BoundedPasswordEncoder encoder =
+                new BoundedPasswordEncoder(12, 1, 1, Duration.ofSeconds(30), new SimpleMeterRegistry());
+        try {
+            // Un hachage en cours, un en file : le suivant doit être refusé sans attendre
+            CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> encoder.encode("a"));
+            CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> encoder.encode("b"));
+            while (encoder.stats().getActiveThreads() < 1 || encoder.stats().getQueueDepth() < 1) {
+                Thread.sleep(5);
+            }
+
+            long start = System.nanoTime();
+            assertThrows(ServiceUnavailableException.class, () -> encoder.encode("c"));
+            assertTrue(System.nanoTime() - start < 50_000_000L);
+            assertEquals(1, encoder.stats().getRejected());
+
+            String hashA = running.get();
+            String hashB = queued.get();
+            assertTrue(encoder.matches("a", hashA));
+            assertTrue(encoder.matches("b", hashB));
+        } finally {
+            encoder.destroy();
+        }
+    }
+
+    @Test
+    void flagsHashesBelowConfiguredCostForUpgrade() {
+        BoundedPasswordEncoder weak = new BoundedPasswordEncoder(4, 1, 4, Duration.ofSeconds(5), new SimpleMeterRegistry());
+        BoundedPasswordEncoder strong = new BoundedPasswordEncoder(6, 1, 4, Duration.ofSeconds(5), new SimpleMeterRegistry());
+        try {
+            String legacy = weak.encode("secret");
+
+            assertTrue(strong.matches("secret", legacy));
+            assertTrue(strong.upgradeEncoding(legacy));
+            assertFalse(strong.upgradeEncoding(strong.encode("secret")));
+            assertEquals(1, strong.stats().getUpgrades());
+        } finally {
+            weak.destroy();
+            strong.destroy();
+        }
+    }
+}
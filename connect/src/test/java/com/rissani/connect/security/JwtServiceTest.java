@@ -0,0 +1,42 @@
+package com.rissani.connect.security;
+
+import com.rissani.connect.entity.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Vérification d'un token en une passe (coût comparé à l'ancien chemin : JwtBenchmark, profil jmh).
+ */
+class JwtServiceTest {
+
+    private static final String SECRET = "monCleSecreteTresLonguePourJWTQuiDoitEtreSecurisee123456789";
+
+    private final JwtService jwtService = new JwtService(SECRET, 86_400_000L, new SimpleMeterRegistry());
+
+    @Test
+    void verifyReturnsClaimsInOnePass() {
+        User user = User.builder().id("u-1").email("alumni@rissani.com").role(User.Role.ADMIN).build();
+        String token = jwtService.generateToken(user);
+
+        VerifiedToken verified = jwtService.verify(token).orElseThrow();
+
+        assertEquals("alumni@rissani.com", verified.subject());
+        assertEquals("ADMIN", verified.role());
+        assertEquals("u-1", verified.userId());
+        assertTrue(jwtService.verify(token + "x").isEmpty());
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        JwtService expired = new JwtService(SECRET, -1_000L, new SimpleMeterRegistry());
+        User user = User.builder().id("u-1").email("alumni@rissani.com").role(User.Role.USER).build();
+        String token = expired.generateToken(user);
+
+        assertTrue(expired.verify(token).isEmpty());
+        assertFalse(jwtService.isTokenValid(token, user));
+    }
+}
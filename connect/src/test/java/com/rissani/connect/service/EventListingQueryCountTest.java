@@ -0,0 +1,171 @@
+package com.rissani.connect.service;
+
+import com.rissani.connect.dto.CursorPageResponse;
+import com.rissani.connect.dto.EventResponse;
+import com.rissani.connect.dto.EventSearchRequest;
+import com.rissani.connect.dto.FieldSelection;
+import com.rissani.connect.entity.Event;
+import com.rissani.connect.entity.User;
+import com.rissani.connect.repository.EventRepository;
+import com.rissani.connect.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.profiles.active=dev",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class EventListingQueryCountTest {
+
+    private static final int EVENTS = 1_000;
+    private static final int USERS = 50;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<User> users;
+
+    @BeforeEach
+    void seed() {
+        List<User> newUsers = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            newUsers.add(User.builder()
+                    .nom("Nom" + i).prenom("Prenom" + i).email("listing" + i + "@rissani.com")
+                    .numTelephone("06").password("x").role(User.Role.USER)
+                    .build());
+        }
+        users = userRepository.saveAll(newUsers);
+
+        List<Event> events = new ArrayList<>();
+        for (int i = 0; i < EVENTS; i++) {
+            events.add(Event.builder()
+                    .titre("Event " + i).description("Description").lieu("Rissani")
+                    .date(LocalDateTime.now().plusDays(i)).type(Event.TypeEvent.RENCONTRE)
+                    .createdBy(users.get(i % USERS))
+                    .participants(new ArrayList<>(users.subList(0, i % 5)))
+                    .build());
+        }
+        eventRepository.saveAll(events);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        eventRepository.deleteAll();
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void listingAllEventsUsesBoundedStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<EventResponse> events = eventService.getAllEvents(FieldSelection.all(EventResponse.FIELDS));
+
+        assertThat(events).hasSize(EVENTS);
+        assertThat(events.get(3).getParticipants()).hasSize(3);
+        // 1 requête pour les événements + 1 pour les participants (IN par blocs de 1000)
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void sparseListingSkipsParticipantsAndUnrequestedColumns() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<EventResponse> events = eventService.getAllEvents(FieldSelection.parse("titre,date", EventResponse.FIELDS));
+
+        assertThat(events).hasSize(EVENTS);
+        assertThat(events).allSatisfy(event -> {
+            assertThat(event.getId()).isNotNull();
+            assertThat(event.getTitre()).startsWith("Event ");
+            assertThat(event.getDescription()).isNull();
+            assertThat(event.getParticipants()).isNull();
+        });
+        // Aucune requête pour les participants
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void listEtagDependsOnTheNormalisedFieldSelection() {
+        String etag = eventService.getEventsEtag();
+
+        String sparse = FieldSelection.parse("titre,date", EventResponse.FIELDS).etag(etag);
+        assertThat(sparse).isNotEqualTo(etag).startsWith("\"").endsWith("\"");
+        assertThat(FieldSelection.parse(" date,titre,titre,id", EventResponse.FIELDS).etag(etag)).isEqualTo(sparse);
+        assertThat(FieldSelection.parse("titre,lieu", EventResponse.FIELDS).etag(etag)).isNotEqualTo(sparse);
+        assertThat(FieldSelection.parse(null, EventResponse.FIELDS).etag(etag)).isEqualTo(etag);
+        assertThat(FieldSelection.parse(String.join(",", EventResponse.FIELDS), EventResponse.FIELDS).etag(etag))
+                .isEqualTo(etag);
+    }
+
+    @Test
+    void listingUserEventsUsesBoundedStatements() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<EventResponse> events = eventService.getUserEvents(users.get(0).getId());
+
+        assertThat(events).hasSize(EVENTS * 4 / 5);
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void upcomingForumsArePagedByDateWithoutGapsOrDuplicates() {
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        List<Event> forums = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            // Dates partagées par groupes de 3 : le départage se fait sur l'id ; 10 forums passés
+            forums.add(Event.builder()
+                    .titre("Forum " + i).description("Description").lieu("Rissani")
+                    .date(now.plusDays(i / 3 - 3)).type(Event.TypeEvent.FORUM)
+                    .createdBy(users.get(0))
+                    .participants(new ArrayList<>(users.subList(0, i % 3)))
+                    .build());
+        }
+        List<String> expected = eventRepository.saveAll(forums).stream()
+                .filter(e -> !e.getDate().isBefore(now))
+                .sorted(Comparator.comparing(Event::getDate).thenComparing(Event::getId))
+                .map(Event::getId)
+                .toList();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        List<EventResponse> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            statistics.clear();
+            CursorPageResponse<EventResponse> page = eventService.searchEvents(EventSearchRequest.builder()
+                    .type("forum").from(now).cursor(cursor).size(7).build(), FieldSelection.all(EventResponse.FIELDS));
+            // 1 requête pour la page + 1 pour ses participants
+            assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+            seen.addAll(page.getContent());
+            cursor = page.getNextCursor();
+        } while (cursor != null);
+
+        assertThat(seen).extracting(EventResponse::getId).containsExactlyElementsOf(expected);
+        assertThat(seen).extracting(EventResponse::getType).containsOnly("forum");
+    }
+}
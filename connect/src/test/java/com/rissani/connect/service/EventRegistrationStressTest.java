@@ -0,0 +1,160 @@
+package com.rissani.connect.service;
+
+import com.rissani.connect.dto.ParticipationResponse;
+import com.rissani.connect.entity.Event;
+import com.rissani.connect.entity.User;
+import com.rissani.connect.entity.BinaryUuidJavaType;
+import com.rissani.connect.repository.EventRepository;
+import com.rissani.connect.repository.EventWaitlistRepository;
+import com.rissani.connect.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.rissani.connect.entity.BinaryUuidJavaType.toBytes;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.profiles.active=dev",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+// ~2 min : exclu de mvn test, lancé avec la campagne de charge (mvn -Ploadtest test)
+@Tag("loadtest")
+class EventRegistrationStressTest {
+
+    private static final int REGISTRATIONS = 10_000;
+    private static final int CAPACITY = 500;
+    private static final int THREADS = 64;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private EventWaitlistRepository waitlistRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<User> users;
+    private String eventId;
+
+    @BeforeEach
+    void seed() {
+        List<User> newUsers = new ArrayList<>();
+        for (int i = 0; i < REGISTRATIONS; i++) {
+            newUsers.add(User.builder()
+                    .nom("Stress" + i).prenom("Alumni").email("stress" + i + "@rissani.com")
+                    .numTelephone("06").password("x").role(User.Role.USER)
+                    .build());
+        }
+        users = userRepository.saveAll(newUsers);
+
+        eventId = eventRepository.save(Event.builder()
+                .titre("Forum annuel").description("Forum").lieu("Rissani")
+                .date(LocalDateTime.now().plusDays(30)).type(Event.TypeEvent.FORUM)
+                .capacite(CAPACITY).createdBy(users.get(0))
+                .build()).getId();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        waitlistRepository.deleteAll();
+        eventRepository.deleteAll();
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void parallelRegistrationsNeverOverbookAndWaitlistIsPromotedInOrder() throws Exception {
+        AtomicInteger registered = new AtomicInteger();
+        AtomicInteger waitlisted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (User user : users) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                ParticipationResponse response = as(user, () -> eventService.participateToEvent(eventId));
+                (response.getStatut().equals("inscrit") ? registered : waitlisted).incrementAndGet();
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        assertThat(registered.get()).isEqualTo(CAPACITY);
+        assertThat(waitlisted.get()).isEqualTo(REGISTRATIONS - CAPACITY);
+        assertThat(participantRows()).isEqualTo(CAPACITY);
+        assertThat(eventRepository.findById(eventId).orElseThrow().getNombreParticipants()).isEqualTo(CAPACITY);
+        assertThat(waitlistRepository.countByEventId(eventId)).isEqualTo(REGISTRATIONS - CAPACITY);
+
+        // Chaque annulation promeut le plus ancien de la liste d'attente
+        List<String> expectedPromoted = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            expectedPromoted.add(waitlistRepository.findFirstByEventIdOrderByIdAsc(eventId).orElseThrow().getUserId());
+            String participant = BinaryUuidJavaType.fromBytes(jdbcTemplate.queryForObject(
+                    "SELECT user_id FROM event_participants WHERE event_id = ? LIMIT 1", byte[].class, toBytes(eventId)));
+            User leaving = userRepository.findById(participant).orElseThrow();
+            as(leaving, () -> {
+                eventService.cancelParticipation(eventId);
+                return null;
+            });
+            assertThat(isParticipant(expectedPromoted.get(i))).isTrue();
+        }
+        assertThat(participantRows()).isEqualTo(CAPACITY);
+        assertThat(waitlistRepository.countByEventId(eventId)).isEqualTo(REGISTRATIONS - CAPACITY - 10);
+    }
+
+    private int participantRows() {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM event_participants WHERE event_id = ?", Integer.class, toBytes(eventId));
+    }
+
+    private boolean isParticipant(String userId) {
+        return jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM event_participants WHERE event_id = ? AND user_id = ?",
+                Integer.class, toBytes(eventId), toBytes(userId)) == 1;
+    }
+
+    private static <T> T as(User user, ThrowingSupplier<T> action) throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        try {
+            return action.get();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @FunctionalInterface
+    private interface ThrowingSupplier<T> {
+        T get() throws Exception;
+    }
+}
@@ -0,0 +1,112 @@
+package com.rissani.connect.service;
+
+import com.rissani.connect.entity.Event;
+import com.rissani.connect.entity.User;
+import com.rissani.connect.repository.EventRepository;
+import com.rissani.connect.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.profiles.active=dev",
+        "spring.jpa.show-sql=false",
+        "spring.datasource.url=jdbc:h2:mem:l2cache;IGNORECASE=TRUE",
+        "app.l2-cache.enabled=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class SecondLevelCacheTest {
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private EventRepository eventRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void participationEvictsOnlyTheChangedEvent() {
+        User organizer = userRepository.save(user("organisateur"));
+        User participant = userRepository.save(user("participant"));
+        String eventId = eventRepository.save(event(organizer)).getId();
+        String otherEventId = eventRepository.save(event(organizer)).getId();
+
+        org.hibernate.Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        cache.evictAllRegions();
+        statistics.clear();
+
+        eventRepository.findById(eventId);
+        eventRepository.findById(otherEventId);
+        userRepository.findById(organizer.getId());
+        eventRepository.findById(eventId);
+        assertThat(statistics.getCacheRegionStatistics("events").getHitCount()).isEqualTo(1);
+
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(participant, null, participant.getAuthorities()));
+        try {
+            eventService.participateToEvent(eventId);
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+
+        // Seul l'événement modifié est évincé, pas toute la région ni les autres entités
+        assertThat(cache.containsEntity(Event.class, eventId)).isFalse();
+        assertThat(cache.containsEntity(Event.class, otherEventId)).isTrue();
+        assertThat(cache.containsEntity(User.class, organizer.getId())).isTrue();
+
+        List<String> participants = transactionTemplate.execute(status -> eventRepository.findById(eventId)
+                .orElseThrow().getParticipants().stream().map(User::getId).toList());
+        assertThat(participants).containsExactly(participant.getId());
+        assertThat(eventRepository.findById(eventId).orElseThrow().getNombreParticipants()).isEqualTo(1);
+    }
+
+    @Test
+    void dateRangeFinderIsServedFromQueryCache() {
+        User organizer = userRepository.save(user("requetes"));
+        eventRepository.save(event(organizer));
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        LocalDateTime from = LocalDateTime.now();
+        LocalDateTime to = from.plusYears(1);
+        eventRepository.findByDateBetween(from, to);
+        eventRepository.findByDateBetween(from, to);
+
+        assertThat(statistics.getQueryCacheHitCount()).isEqualTo(1);
+    }
+
+    private static User user(String name) {
+        return User.builder()
+                .nom(name).prenom("Cache").email(name + "@l2.rissani.com")
+                .numTelephone("06").password("x").role(User.Role.USER)
+                .build();
+    }
+
+    private static Event event(User organizer) {
+        return Event.builder()
+                .titre("Rencontre").description("Rencontre").lieu("Rissani")
+                .date(LocalDateTime.now().plusDays(10)).type(Event.TypeEvent.RENCONTRE)
+                .createdBy(organizer)
+                .build();
+    }
+}
@@ -0,0 +1,109 @@
+package com.rissani.connect.service;
+
+import com.rissani.connect.dto.UserResponse;
+import com.rissani.connect.entity.User;
+import com.rissani.connect.entity.UuidV7;
+import com.rissani.connect.repository.UserRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(properties = {
+        "spring.profiles.active=dev",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class UserBatchLookupTest {
+
+    private static final int USERS = 1_500;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserLoader userLoader;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private List<User> users;
+    private Statistics statistics;
+
+    @BeforeEach
+    void seed() {
+        List<User> newUsers = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            newUsers.add(User.builder()
+                    .nom("Nom" + i).prenom("Prenom" + i).email("batch" + i + "@rissani.com")
+                    .numTelephone("06").password("x").role(User.Role.USER)
+                    .build());
+        }
+        users = userRepository.saveAll(newUsers);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        // Le chargeur est propre à la requête : on en simule une
+        RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+    }
+
+    @AfterEach
+    void cleanUp() {
+        RequestContextHolder.resetRequestAttributes();
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void batchIsResolvedInChunkedInQueriesAndReusedWithinTheRequest() {
+        List<String> ids = new ArrayList<>(users.stream().map(User::getId).toList().reversed());
+        ids.add(ids.get(0));
+        ids.add(UuidV7.nextString());
+
+        statistics.clear();
+        List<UserResponse> resolved = userService.getUsersByIds(ids);
+
+        // Ordre demandé, sans doublon ni id inconnu
+        assertThat(resolved).extracting(UserResponse::getId).containsExactlyElementsOf(ids.subList(0, USERS));
+        // 2 blocs IN de 1000 ids au plus
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+
+        statistics.clear();
+        assertThat(userService.getUserById(ids.get(42)).getNom()).isEqualTo(resolved.get(42).getNom());
+        assertThat(userService.getUsersByIds(ids.subList(0, 10))).hasSize(10);
+        // Déjà chargés, ou déjà connus comme absents : aucune requête
+        assertThat(userService.getUsersByIds(List.of(ids.get(ids.size() - 1)))).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isZero();
+    }
+
+    @Test
+    void singleIdIsLoadedOnceAndMalformedIdsAreSkipped() {
+        statistics.clear();
+
+        assertThat(userLoader.load(users.get(0).getId())).isPresent();
+        assertThat(userLoader.load(users.get(0).getId())).isPresent();
+        assertThat(userLoader.load("pas-un-uuid")).isEmpty();
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+
+        List<UserResponse> resolved = userService.getUsersByIds(List.of(users.get(1).getId(), "pas-un-uuid", users.get(2).getId()));
+        assertThat(resolved).extracting(UserResponse::getId).containsExactly(users.get(1).getId(), users.get(2).getId());
+
+        assertThatThrownBy(() -> userService.getUsersByIds(Stream.generate(UuidV7::nextString).limit(5_001).toList()))
+                .hasMessageContaining("Trop d'identifiants");
+    }
+}
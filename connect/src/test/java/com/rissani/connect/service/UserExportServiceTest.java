@@ -0,0 +1,88 @@
+package com.rissani.connect.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.rissani.connect.entity.User;
+import com.rissani.connect.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.profiles.active=dev",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class UserExportServiceTest {
+
+    private static final int USERS = 2_000;
+
+    @Autowired
+    private UserExportService userExportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private List<User> users;
+
+    @BeforeEach
+    void seed() {
+        List<User> newUsers = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            newUsers.add(User.builder()
+                    .nom("Export" + i).prenom("Alumni").email("export" + i + "@rissani.com")
+                    .numTelephone("+212 600" + i).password("x").role(User.Role.USER)
+                    .build());
+        }
+        newUsers.add(User.builder()
+                .nom("=HYPERLINK(\"http://x\")").prenom("Ben, \"Ali\"").email("piege@rissani.com")
+                .numTelephone("06").password("x").role(User.Role.USER).statut(User.Statut.ETUDIANT)
+                .build());
+        users = userRepository.saveAll(newUsers);
+    }
+
+    @AfterEach
+    void cleanUp() {
+        userRepository.deleteAll(users);
+    }
+
+    @Test
+    void exportsEveryUserAsOneJsonLine() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = userExportService.export(UserExportService.Format.NDJSON, out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(exported).isEqualTo(userRepository.count());
+        assertThat(lines).hasSize((int) exported);
+
+        JsonNode first = objectMapper.readTree(lines[0]);
+        assertThat(first.has("email")).isTrue();
+        assertThat(first.has("password")).isFalse();
+    }
+
+    @Test
+    void exportsEscapedCsv() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long exported = userExportService.export(UserExportService.Format.CSV, out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        String[] lines = csv.split("\r\n");
+        assertThat(lines[0]).isEqualTo("\uFEFFid,nom,prenom,email,numTelephone,role,sexe,anneeBac,filiereBac,statut,specialite,avatar,createdAt");
+        assertThat(lines).hasSize((int) exported + 1);
+        assertThat(csv).contains(",\"'=HYPERLINK(\"\"http://x\"\")\",\"Ben, \"\"Ali\"\"\",piege@rissani.com,06,user,,,,etudiant,");
+        assertThat(csv).contains(",export7@rissani.com,+212 6007,");
+    }
+}
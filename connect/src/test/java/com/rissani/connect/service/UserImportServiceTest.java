@@ -0,0 +1,89 @@
+package com.rissani.connect.service;
+
+import com.rissani.connect.dto.ImportRowError;
+import com.rissani.connect.dto.UserImportReport;
+import com.rissani.connect.entity.User;
+import com.rissani.connect.repository.UserRepository;
+import com.rissani.connect.security.BoundedPasswordEncoder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.profiles.active=dev",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class UserImportServiceTest {
+
+    private static final int VALID_ROWS = 2_500;
+
+    @Autowired
+    private UserImportService userImportService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BoundedPasswordEncoder passwordEncoder;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void cleanUp() {
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'import%@rissani.com'");
+    }
+
+    @Test
+    void importsValidRowsAndReportsTheOthersWithoutAborting() throws Exception {
+        userRepository.save(User.builder()
+                .nom("Deja").prenom("La").email("import-existant@rissani.com")
+                .numTelephone("06").password("x").role(User.Role.USER)
+                .build());
+
+        StringBuilder csv = new StringBuilder("﻿nom,prenom,email,numTelephone,sexe,statut,anneeBac,password,role\r\n");
+        for (int i = 0; i < VALID_ROWS; i++) {
+            csv.append("Import").append(i).append(",Alumni,import").append(i).append("@rissani.com,'+212600")
+                    .append(i).append(",femme,ETUDIANT,2015,,ADMIN\r\n");
+        }
+        csv.append("\"Ben, \"\"Ali\"\"\",\"Multi\nligne\",import-quote@rissani.com,06,,,,secret123,\r\n"); // ligne 2502
+        csv.append("SansEmail,X,,06,,,,,\r\n");                                   // 2504
+        csv.append("Statut,X,import-statut@rissani.com,06,,RETRAITE,,,\r\n");     // 2505
+        csv.append("Double,X,IMPORT0@rissani.com,06,,,,,\r\n");                  // 2506
+        csv.append("Existe,X,import-existant@rissani.com,06,,,,,\r\n");          // 2507
+
+        UserImportReport report = userImportService.importCsv(
+                new ByteArrayInputStream(csv.toString().getBytes(StandardCharsets.UTF_8)));
+
+        assertThat(report.getTotalRows()).isEqualTo(VALID_ROWS + 5);
+        assertThat(report.getCreated()).isEqualTo(VALID_ROWS + 1);
+        assertThat(report.getFailed()).isEqualTo(4);
+        assertThat(report.getErrors()).extracting(ImportRowError::getLine)
+                .containsExactly(2504L, 2505L, 2506L, 2507L);
+        assertThat(report.getErrors().get(3).getMessage()).isEqualTo("Un utilisateur avec cet email existe déjà");
+        assertThat(report.getGeneratedPasswords()).hasSize(VALID_ROWS);
+
+        User first = userRepository.findByEmail("import0@rissani.com").orElseThrow();
+        assertThat(first.getRole()).isEqualTo(User.Role.USER);
+        assertThat(first.getSexe()).isEqualTo(User.Sexe.FEMME);
+        assertThat(first.getNumTelephone()).isEqualTo("+2126000");
+        assertThat(passwordEncoder.matches(report.getGeneratedPasswords().get(0).getPassword(), first.getPassword())).isTrue();
+
+        User quoted = userRepository.findByEmail("import-quote@rissani.com").orElseThrow();
+        assertThat(quoted.getNom()).isEqualTo("Ben, \"Ali\"");
+        assertThat(quoted.getPrenom()).isEqualTo("Multi\nligne");
+        assertThat(passwordEncoder.matches("secret123", quoted.getPassword())).isTrue();
+        // Fourni par le CSV : haché au coût courant ; seuls les mots de passe générés passent au coût d'import
+        assertThat(passwordEncoder.upgradeEncoding(quoted.getPassword())).isFalse();
+        assertThat(passwordEncoder.upgradeEncoding(first.getPassword())).isTrue();
+    }
+}
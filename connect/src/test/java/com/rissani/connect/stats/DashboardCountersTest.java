@@ -0,0 +1,154 @@
+package com.rissani.connect.stats;
+
+import com.rissani.connect.dto.DashboardStats;
+import com.rissani.connect.dto.EventRequest;
+import com.rissani.connect.dto.RegisterRequest;
+import com.rissani.connect.dto.UserResponse;
+import com.rissani.connect.entity.User;
+import com.rissani.connect.repository.UserRepository;
+import com.rissani.connect.service.AuthService;
+import com.rissani.connect.service.EventService;
+import com.rissani.connect.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest(properties = {
+        "spring.profiles.active=dev",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class DashboardCountersTest {
+
+    @Autowired
+    private DashboardCounters dashboardCounters;
+
+    @Autowired
+    private AuthService authService;
+
+    @Autowired
+    private EventService eventService;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<String> eventIds = new ArrayList<>();
+
+    @AfterEach
+    void cleanUp() {
+        User admin = userRepository.findByEmail("admin.mouad@rissani.com").orElseThrow();
+        eventIds.forEach(id -> as(admin, () -> {
+            eventService.deleteEvent(id);
+            return null;
+        }));
+        jdbcTemplate.update("DELETE FROM users WHERE email LIKE 'stats%@rissani.com'");
+    }
+
+    @Test
+    void countersFollowWritesAndMatchTheDatabase() {
+        dashboardCounters.reconcile();
+        DashboardStats before = dashboardCounters.snapshot();
+
+        User first = register("stats1@rissani.com");
+        User second = register("stats2@rissani.com");
+        User admin = userRepository.findByEmail("admin.mouad@rissani.com").orElseThrow();
+        String upcoming = as(admin, () -> eventService.createEvent(event(LocalDateTime.now().plusDays(3), 1))).getId();
+        String past = as(admin, () -> eventService.createEvent(event(LocalDateTime.now().minusDays(3), null))).getId();
+        eventIds.add(upcoming);
+        eventIds.add(past);
+
+        as(first, () -> eventService.participateToEvent(upcoming));
+        as(second, () -> eventService.participateToEvent(upcoming));
+        as(first, () -> eventService.participateToEvent(past));
+        DashboardStats registered = dashboardCounters.snapshot();
+        assertThat(registered.getParticipations()).isEqualTo(before.getParticipations() + 2);
+        assertThat(registered.getWaitlisted()).isEqualTo(before.getWaitlisted() + 1);
+
+        // Le premier se désiste : le second est promu
+        as(first, () -> {
+            eventService.cancelParticipation(upcoming);
+            return null;
+        });
+        as(second, () -> userService.updateProfile(UserResponse.builder().statut("employe").build()));
+
+        DashboardStats after = dashboardCounters.snapshot();
+        assertThat(after.getTotalUsers()).isEqualTo(before.getTotalUsers() + 2);
+        assertThat(after.getUsersByFiliereBac().get("SM-stats")).isEqualTo(2);
+        assertThat(after.getUsersByStatut().getOrDefault("employe", 0L))
+                .isEqualTo(before.getUsersByStatut().getOrDefault("employe", 0L) + 1);
+        assertThat(after.getUpcomingEvents()).isEqualTo(before.getUpcomingEvents() + 1);
+        assertThat(after.getPastEvents()).isEqualTo(before.getPastEvents() + 1);
+        assertThat(after.getUpcomingEventsByType().get("rencontre")).isPositive();
+        assertThat(after.getParticipations()).isEqualTo(before.getParticipations() + 2);
+        assertThat(after.getWaitlisted()).isEqualTo(before.getWaitlisted());
+
+        // Les compteurs tenus à jour correspondent exactement à un recalcul depuis la base
+        dashboardCounters.reconcile();
+        DashboardStats reconciled = dashboardCounters.snapshot();
+        assertThat(reconciled.getLastReconciliationDrift()).isZero();
+        assertThat(reconciled).usingRecursiveComparison().ignoringFields("lastReconciledAt", "lastReconciliationDrift").isEqualTo(after);
+    }
+
+    @Test
+    void reconciliationCorrectsWritesMadeOutsideTheApplication() {
+        dashboardCounters.reconcile();
+        long users = dashboardCounters.snapshot().getTotalUsers();
+
+        jdbcTemplate.update("INSERT INTO users (id, nom, prenom, num_telephone, email, password, role, created_at, version) "
+                + "VALUES (RANDOM_UUID(), 'Hors', 'App', '06', 'stats-sql@rissani.com', 'x', 'USER', CURRENT_TIMESTAMP, 0)");
+        assertThat(dashboardCounters.snapshot().getTotalUsers()).isEqualTo(users);
+
+        dashboardCounters.reconcile();
+        DashboardStats reconciled = dashboardCounters.snapshot();
+        assertThat(reconciled.getTotalUsers()).isEqualTo(users + 1);
+        // total + statut + sexe + filière + année
+        assertThat(reconciled.getLastReconciliationDrift()).isEqualTo(5);
+    }
+
+    private User register(String email) {
+        authService.register(RegisterRequest.builder()
+                .nom("Stats").prenom("Alumni").email(email).password("secret123").numTelephone("06")
+                .sexe("femme").statut("etudiant").filiereBac("SM-stats").anneeBac(2012)
+                .build());
+        return userRepository.findByEmail(email).orElseThrow();
+    }
+
+    private static EventRequest event(LocalDateTime date, Integer capacite) {
+        EventRequest request = new EventRequest();
+        request.setTitre("Rencontre");
+        request.setDescription("Statistiques");
+        request.setLieu("Rissani");
+        request.setDate(date);
+        request.setType("rencontre");
+        request.setCapacite(capacite);
+        return request;
+    }
+
+    private static <T> T as(User user, Supplier<T> action) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        try {
+            return action.get();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.rissani.connect.storage;
+
+import com.rissani.connect.dto.UserResponse;
+import com.rissani.connect.entity.User;
+import com.rissani.connect.repository.UserRepository;
+import com.rissani.connect.service.AvatarMigrationService;
+import com.rissani.connect.service.UserService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Random;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "spring.profiles.active=dev",
+        "spring.jpa.show-sql=false"
+})
+class AvatarServingTest {
+
+    @TempDir
+    static Path avatarDir;
+
+    @DynamicPropertySource
+    static void avatarProperties(DynamicPropertyRegistry registry) {
+        registry.add("app.avatars.dir", avatarDir::toString);
+    }
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private UserService userService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private AvatarMigrationService avatarMigrationService;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private User admin;
+
+    @BeforeEach
+    void setUp() {
+        admin = userRepository.findByEmail("admin.mouad@rissani.com").orElseThrow();
+    }
+
+    @AfterEach
+    void cleanUp() {
+        User user = userRepository.findById(admin.getId()).orElseThrow();
+        user.setAvatar(null);
+        userRepository.save(user);
+    }
+
+    @Test
+    void uploadedAvatarIsResizedAndServedWithCacheAndRangeSupport() throws Exception {
+        byte[] upload = png(1_000, 700);
+        UserResponse response = as(admin, () -> userService.updateAvatar(upload));
+
+        assertThat(response.getAvatar()).matches("/api/avatars/[0-9a-f]{64}\\.jpg");
+        assertThat(userRepository.findById(admin.getId()).orElseThrow().getAvatar()).hasSize(68);
+        // Même contenu, même clé
+        assertThat(as(admin, () -> userService.updateAvatar(upload)).getAvatar()).isEqualTo(response.getAvatar());
+
+        HttpResponse<byte[]> full = get(response.getAvatar(), null, null);
+        assertThat(full.statusCode()).isEqualTo(200);
+        assertThat(full.headers().firstValue("Content-Type")).hasValue("image/jpeg");
+        assertThat(full.headers().firstValue("Cache-Control")).hasValue("public, max-age=31536000, immutable");
+        assertThat(full.headers().firstValueAsLong("Content-Length")).hasValue(full.body().length);
+        BufferedImage fullImage = ImageIO.read(new ByteArrayInputStream(full.body()));
+        assertThat(fullImage.getWidth()).isEqualTo(512);
+        assertThat(fullImage.getHeight()).isEqualTo(358);
+
+        BufferedImage thumbnail = ImageIO.read(new ByteArrayInputStream(
+                get(response.getAvatar().replace("/api/avatars/", "/api/avatars/thumb/"), null, null).body()));
+        assertThat(thumbnail.getWidth()).isEqualTo(128);
+        assertThat(thumbnail.getHeight()).isEqualTo(128);
+
+        int length = full.body().length;
+        HttpResponse<byte[]> partial = get(response.getAvatar(), "Range", "bytes=100-" + (length - 101));
+        assertThat(partial.statusCode()).isEqualTo(206);
+        assertThat(partial.headers().firstValue("Content-Range")).hasValue("bytes 100-" + (length - 101) + "/" + length);
+        assertThat(partial.body()).isEqualTo(Arrays.copyOfRange(full.body(), 100, length - 100));
+
+        HttpResponse<byte[]> suffix = get(response.getAvatar(), "Range", "bytes=-10");
+        assertThat(suffix.body()).isEqualTo(Arrays.copyOfRange(full.body(), length - 10, length));
+
+        assertThat(get(response.getAvatar(), "Range", "bytes=" + length + "-").statusCode()).isEqualTo(416);
+
+        String etag = full.headers().firstValue("ETag").orElseThrow();
+        assertThat(get(response.getAvatar(), "If-None-Match", etag).statusCode()).isEqualTo(304);
+
+        assertThat(get("/api/avatars/" + "0".repeat(64) + ".jpg", null, null).statusCode()).isEqualTo(404);
+        assertThat(get("/api/avatars/..%2F..%2Fetc%2Fpasswd", null, null).statusCode()).isIn(400, 404);
+    }
+
+    @Test
+    void invalidUploadsAreRejectedAndInlineAvatarsAreMigrated() throws Exception {
+        assertThatThrownBy(() -> as(admin, () -> userService.updateAvatar("pas une image".getBytes())))
+                .hasMessageContaining("Format d'image non supporté");
+        // Dimensions lues dans l'en-tête : refusée sans être décodée
+        byte[] tooWide = png(AvatarStore.MAX_DIMENSION + 1, 1);
+        assertThatThrownBy(() -> as(admin, () -> userService.updateAvatar(tooWide)))
+                .hasMessageContaining("pixels de côté");
+
+        // PUT /me : l'avatar lu est renvoyé tel quel sans erreur, toute autre valeur est refusée
+        byte[] small = png(10, 10);
+        String avatar = as(admin, () -> userService.updateAvatar(small)).getAvatar();
+        UserResponse echoed = UserResponse.builder().avatar(avatar).build();
+        assertThat(as(admin, () -> userService.updateProfile(echoed)).getAvatar()).isEqualTo(avatar);
+        UserResponse changed = UserResponse.builder().avatar("https://exemple.com/photo.jpg").build();
+        assertThatThrownBy(() -> as(admin, () -> userService.updateProfile(changed)))
+                .hasMessageContaining("POST /api/users/me/avatar");
+
+        // Image minuscule : la colonne générée pour H2 reste un VARCHAR(255)
+        User user = userRepository.findById(admin.getId()).orElseThrow();
+        user.setAvatar("data:image/png;base64," + Base64.getEncoder().encodeToString(png(2, 2)));
+        userRepository.save(user);
+
+        avatarMigrationService.migrateInlineAvatars();
+
+        String key = userRepository.findById(admin.getId()).orElseThrow().getAvatar();
+        assertThat(AvatarStore.isKey(key)).isTrue();
+        assertThat(get(AvatarStore.urlOf(key), null, null).statusCode()).isEqualTo(200);
+
+        // Data URL invalide : rien à sauver, la colonne est vidée
+        user = userRepository.findById(admin.getId()).orElseThrow();
+        user.setAvatar("data:image/png;base64," + Base64.getEncoder().encodeToString("pas une image".getBytes()));
+        userRepository.save(user);
+
+        avatarMigrationService.migrateInlineAvatars();
+
+        assertThat(userRepository.findById(admin.getId()).orElseThrow().getAvatar()).isNull();
+    }
+
+    private HttpResponse<byte[]> get(String path, String header, String value) throws Exception {
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + path));
+        if (header != null) {
+            request.header(header, value);
+        }
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+
+    // Bruit aléatoire : l'image reste lourde une fois réencodée, ce qui passe par sendfile
+    private static byte[] png(int width, int height) throws IOException {
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Random random = new Random(42);
+        for (int y = 0; y < height; y++) {
+            for (int x = 0; x < width; x++) {
+                image.setRGB(x, y, random.nextInt(0xFFFFFF));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", out);
+        return out.toByteArray();
+    }
+
+    private static <T> T as(User user, Supplier<T> action) {
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        try {
+            return action.get();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -2,7 +2,7 @@
  * Carte d'affichage d'un utilisateur pour l'annuaire
  */
 
-import { User } from '@/services/api';
+import { User, avatarUrl } from '@/services/api';
 import { Badge } from '@/components/ui/badge';
 import { GraduationCap, Briefcase, User as UserIcon } from 'lucide-react';
 
@@ -32,7 +32,7 @@ const UserCard: React.FC<UserCardProps> = ({ user }) => {
       <div className="w-20 h-20 rounded-full bg-gradient-to-br from-primary to-accent flex items-center justify-center mb-4 group-hover:scale-105 transition-transform">
         {user.avatar ? (
           <img
-            src={user.avatar}
+            src={avatarUrl(user.avatar, true)}
             alt={`${user.prenom} ${user.nom}`}
             className="w-full h-full rounded-full object-cover"
           />
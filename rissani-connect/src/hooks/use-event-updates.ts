@@ -0,0 +1,21 @@
+import { useEffect, useRef } from "react";
+import { subscribeToEventUpdates, EventUpdate } from "@/services/api";
+
+/**
+ * Abonnement aux mises à jour en direct des événements pendant la durée de vie du composant.
+ * onResync est appelé après une reconnexion ou quand le serveur a dû abandonner des mises à jour :
+ * la liste doit alors être rechargée.
+ */
+export function useEventUpdates(onUpdate: (update: EventUpdate) => void, onResync: () => void) {
+  const handlers = useRef({ onUpdate, onResync });
+  handlers.current = { onUpdate, onResync };
+
+  useEffect(() => {
+    return subscribeToEventUpdates(
+      (update) => handlers.current.onUpdate(update),
+      (reconnected) => {
+        if (reconnected) handlers.current.onResync();
+      },
+    );
+  }, []);
+}
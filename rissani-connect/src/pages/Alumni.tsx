@@ -2,73 +2,93 @@
  * Annuaire des anciens élèves
  */
 
-import { useState, useEffect } from 'react';
-import { getAllUsersPublic, User } from '@/services/api';
+import { useState, useEffect, useCallback } from 'react';
+import { searchUsers, User, UserSearchParams, USER_CARD_FIELDS } from '@/services/api';
 import UserCard from '@/components/UserCard';
+import { Button } from '@/components/ui/button';
 import { Input } from '@/components/ui/input';
 import { Select, SelectContent, SelectItem, SelectTrigger, SelectValue } from '@/components/ui/select';
 import { useToast } from '@/hooks/use-toast';
 import { Search, Users, Filter } from 'lucide-react';
 
+const FILIERES = [
+  'Sciences Mathématiques A',
+  'Sciences Mathématiques B',
+  'Sciences Expérimentales',
+  'Sciences Économiques',
+  'Lettres Modernes',
+  'Arts Appliqués',
+  'Autre',
+];
+
 const Alumni = () => {
   const [users, setUsers] = useState<User[]>([]);
-  const [filteredUsers, setFilteredUsers] = useState<User[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
   const [isLoading, setIsLoading] = useState(true);
+  const [isLoadingMore, setIsLoadingMore] = useState(false);
   const [searchTerm, setSearchTerm] = useState('');
+  const [debouncedSearch, setDebouncedSearch] = useState('');
   const [filterStatut, setFilterStatut] = useState('all');
   const [filterFiliere, setFilterFiliere] = useState('all');
   const { toast } = useToast();
 
+  // Attendre la fin de la saisie avant d'interroger le serveur
   useEffect(() => {
-    const fetchUsers = async () => {
-      try {
-        const data = await getAllUsersPublic();
-        setUsers(data);
-        setFilteredUsers(data);
-      } catch (error) {
-        toast({
-          title: 'Erreur',
-          description: 'Impossible de charger l\'annuaire',
-          variant: 'destructive',
-        });
-      } finally {
-        setIsLoading(false);
-      }
-    };
+    const timer = setTimeout(() => setDebouncedSearch(searchTerm.trim()), 300);
+    return () => clearTimeout(timer);
+  }, [searchTerm]);
+
+  const buildParams = useCallback(
+    (cursor?: string): UserSearchParams => ({
+      q: debouncedSearch || undefined,
+      statut: filterStatut !== 'all' ? filterStatut : undefined,
+      filiereBac: filterFiliere !== 'all' ? filterFiliere : undefined,
+      cursor,
+      fields: USER_CARD_FIELDS,
+    }),
+    [debouncedSearch, filterStatut, filterFiliere]
+  );
 
-    fetchUsers();
+  const showError = useCallback(() => {
+    toast({
+      title: 'Erreur',
+      description: 'Impossible de charger l\'annuaire',
+      variant: 'destructive',
+    });
   }, [toast]);
 
   useEffect(() => {
-    let result = users;
-
-    // Filtre par recherche
-    if (searchTerm) {
-      const term = searchTerm.toLowerCase();
-      result = result.filter(
-        (user) =>
-          user.nom.toLowerCase().includes(term) ||
-          user.prenom.toLowerCase().includes(term) ||
-          user.specialite?.toLowerCase().includes(term) ||
-          user.numTelephone?.toLowerCase().includes(term)
-      );
-    }
-
-    // Filtre par statut
-    if (filterStatut !== 'all') {
-      result = result.filter((user) => user.statut === filterStatut);
-    }
-
-    // Filtre par filière
-    if (filterFiliere !== 'all') {
-      result = result.filter((user) => user.filiereBac === filterFiliere);
+    let cancelled = false;
+    setIsLoading(true);
+
+    searchUsers(buildParams())
+      .then((page) => {
+        if (!cancelled) {
+          setUsers(page.content);
+          setNextCursor(page.nextCursor);
+        }
+      })
+      .catch(() => !cancelled && showError())
+      .finally(() => !cancelled && setIsLoading(false));
+
+    return () => {
+      cancelled = true;
+    };
+  }, [buildParams, showError]);
+
+  const loadMore = async () => {
+    if (!nextCursor) return;
+    setIsLoadingMore(true);
+    try {
+      const page = await searchUsers(buildParams(nextCursor));
+      setUsers((previous) => [...previous, ...page.content]);
+      setNextCursor(page.nextCursor);
+    } catch (error) {
+      showError();
+    } finally {
+      setIsLoadingMore(false);
     }
-
-    setFilteredUsers(result);
-  }, [searchTerm, filterStatut, filterFiliere, users]);
-
-  // Extraire les filières uniques
-  const filieres = [...new Set(users.map((u) => u.filiereBac).filter(Boolean))];
+  };
 
   return (
     <div className="container mx-auto px-4 py-8">
@@ -86,7 +106,7 @@ const Alumni = () => {
             <div className="flex-1 relative">
               <Search className="absolute left-3 top-1/2 -translate-y-1/2 w-4 h-4 text-muted-foreground" />
               <Input
-                placeholder="Rechercher par nom, prénom ou spécialité..."
+                placeholder="Rechercher par nom ou prénom..."
                 value={searchTerm}
                 onChange={(e) => setSearchTerm(e.target.value)}
                 className="pl-10 input-styled"
@@ -112,8 +132,8 @@ const Alumni = () => {
                 </SelectTrigger>
                 <SelectContent>
                   <SelectItem value="all">Toutes les filières</SelectItem>
-                  {filieres.map((filiere) => (
-                    <SelectItem key={filiere} value={filiere!}>
+                  {FILIERES.map((filiere) => (
+                    <SelectItem key={filiere} value={filiere}>
                       {filiere}
                     </SelectItem>
                   ))}
@@ -125,8 +145,9 @@ const Alumni = () => {
 
         {/* Résultats */}
         <div className="mb-4 text-muted-foreground">
-          {filteredUsers.length} membre{filteredUsers.length > 1 ? 's' : ''} trouvé
-          {filteredUsers.length > 1 ? 's' : ''}
+          {users.length}
+          {nextCursor ? '+' : ''} membre{users.length > 1 ? 's' : ''} trouvé
+          {users.length > 1 ? 's' : ''}
         </div>
 
         {isLoading ? (
@@ -139,12 +160,21 @@ const Alumni = () => {
               </div>
             ))}
           </div>
-        ) : filteredUsers.length > 0 ? (
-          <div className="grid grid-cols-1 sm:grid-cols-2 lg:grid-cols-3 xl:grid-cols-4 gap-6">
-            {filteredUsers.map((user) => (
-              <UserCard key={user.id} user={user} />
-            ))}
-          </div>
+        ) : users.length > 0 ? (
+          <>
+            <div className="grid grid-cols-1 sm:grid-cols-2 lg:grid-cols-3 xl:grid-cols-4 gap-6">
+              {users.map((user) => (
+                <UserCard key={user.id} user={user} />
+              ))}
+            </div>
+            {nextCursor && (
+              <div className="flex justify-center mt-8">
+                <Button variant="outline" onClick={loadMore} disabled={isLoadingMore}>
+                  {isLoadingMore ? 'Chargement...' : 'Afficher plus'}
+                </Button>
+              </div>
+            )}
+          </>
         ) : (
           <div className="card-elevated p-12 text-center">
             <Users className="w-12 h-12 mx-auto text-muted-foreground mb-4" />
@@ -156,4 +186,4 @@ const Alumni = () => {
   );
 };
 
-export default Alumni;
\ No newline at end of file
+export default Alumni;
@@ -3,13 +3,14 @@
  * Affiche les informations et les événements à venir
  */
 
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useCallback } from 'react';
 import { Link } from 'react-router-dom';
 import { useAuth } from '@/context/AuthContext';
-import { getEvents, Event, participateToEvent, cancelParticipation } from '@/services/api';
+import { searchEvents, toLocalDateTime, EVENT_CARD_FIELDS, Event, participateToEvent, cancelParticipation, applyEventUpdate } from '@/services/api';
 import EventCard from '@/components/EventCard';
 import { Button } from '@/components/ui/button';
 import { useToast } from '@/hooks/use-toast';
+import { useEventUpdates } from '@/hooks/use-event-updates';
 import { Calendar, Users, User, ArrowRight } from 'lucide-react';
 
 const Dashboard = () => {
@@ -21,35 +22,50 @@ const Dashboard = () => {
     return event.participants.includes(user?.id || '');
   };
   
-  useEffect(() => {
-    const fetchEvents = async () => {
-      try {
-        const data = await getEvents();
-        // Filtrer les événements futurs et les trier par date
-        const futureEvents = data
-          .filter((e) => new Date(e.date) >= new Date())
-          .sort((a, b) => new Date(a.date).getTime() - new Date(b.date).getTime())
-          .slice(0, 3);
-        setEvents(futureEvents);
-      } catch (error) {
-        toast({
-          title: 'Erreur',
-          description: 'Impossible de charger les événements',
-          variant: 'destructive',
-        });
-      } finally {
-        setIsLoading(false);
-      }
-    };
+  const fetchEvents = useCallback(async () => {
+    try {
+      // Les 3 prochains événements, filtrés et triés par date côté serveur
+      const page = await searchEvents({ from: toLocalDateTime(new Date()), size: 3, fields: EVENT_CARD_FIELDS });
+      setEvents(page.content);
+    } catch (error) {
+      toast({
+        title: 'Erreur',
+        description: 'Impossible de charger les événements',
+        variant: 'destructive',
+      });
+    } finally {
+      setIsLoading(false);
+    }
+  }, [toast]);
 
+  useEffect(() => {
     fetchEvents();
-  }, [toast]);
+  }, [fetchEvents]);
+
+  // Participations appliquées en direct ; une création ou suppression peut changer les 3 prochains
+  useEventUpdates(
+    (update) => {
+      if (update.type === 'joined' || update.type === 'left') {
+        setEvents((prevEvents) => applyEventUpdate(prevEvents, update));
+      } else {
+        fetchEvents();
+      }
+    },
+    fetchEvents,
+  );
 
   const handleParticipate = async (eventId: string) => {
     try {
-      await participateToEvent(eventId);
-      
-      
+      const result = await participateToEvent(eventId);
+
+      if (result.statut === 'en_attente') {
+        toast({
+          title: 'Événement complet',
+          description: `Vous êtes en position ${result.position} sur la liste d'attente`,
+        });
+        return;
+      }
+
       setEvents((prevEvents) =>
         prevEvents.map((event) =>
           event.id === eventId
@@ -2,11 +2,12 @@
  * Page liste des événements
  */
 
-import { useState, useEffect } from 'react';
+import { useState, useEffect, useCallback } from 'react';
 import { useAuth } from '@/context/AuthContext';
-import { getEvents, Event, participateToEvent, cancelParticipation } from '@/services/api';
+import { getEvents, EVENT_CARD_FIELDS, Event, participateToEvent, cancelParticipation, applyEventUpdate } from '@/services/api';
 import EventCard from '@/components/EventCard';
 import { useToast } from '@/hooks/use-toast';
+import { useEventUpdates } from '@/hooks/use-event-updates';
 import { Tabs, TabsContent, TabsList, TabsTrigger } from '@/components/ui/tabs';
 import { Calendar, Clock } from 'lucide-react';
 
@@ -19,29 +20,43 @@ const Events = () => {
     return event.participants.includes(user?.id || '');
   };
 
-  useEffect(() => {
-    const fetchEvents = async () => {
-      try {
-        const data = await getEvents();
-        setEvents(data.sort((a, b) => new Date(a.date).getTime() - new Date(b.date).getTime()));
-      } catch (error) {
-        toast({
-          title: 'Erreur',
-          description: 'Impossible de charger les événements',
-          variant: 'destructive',
-        });
-      } finally {
-        setIsLoading(false);
-      }
-    };
+  const fetchEvents = useCallback(async () => {
+    try {
+      const data = await getEvents(EVENT_CARD_FIELDS);
+      setEvents(data.sort((a, b) => new Date(a.date).getTime() - new Date(b.date).getTime()));
+    } catch (error) {
+      toast({
+        title: 'Erreur',
+        description: 'Impossible de charger les événements',
+        variant: 'destructive',
+      });
+    } finally {
+      setIsLoading(false);
+    }
+  }, [toast]);
 
+  useEffect(() => {
     fetchEvents();
-  }, [toast]);
+  }, [fetchEvents]);
+
+  // Inscriptions, annulations, créations et suppressions des autres utilisateurs, poussées par le serveur
+  useEventUpdates(
+    (update) => setEvents((prevEvents) => applyEventUpdate(prevEvents, update)),
+    fetchEvents,
+  );
 
   const handleParticipate = async (eventId: string) => {
     try {
-      await participateToEvent(eventId);
-      
+      const result = await participateToEvent(eventId);
+
+      if (result.statut === 'en_attente') {
+        toast({
+          title: 'Événement complet',
+          description: `Vous êtes en position ${result.position} sur la liste d'attente`,
+        });
+        return;
+      }
+
       // Mettre à jour l'événement localement
       setEvents((prevEvents) =>
         prevEvents.map((event) =>
@@ -5,13 +5,13 @@
 
 import { useState } from 'react';
 import { useAuth } from '@/context/AuthContext';
-import { updateUserProfile } from '@/services/api';
+import { updateUserProfile, uploadAvatar, removeAvatar, avatarUrl } from '@/services/api';
 import { Button } from '@/components/ui/button';
 import { Input } from '@/components/ui/input';
 import { Label } from '@/components/ui/label';
 import { Select, SelectContent, SelectItem, SelectTrigger, SelectValue } from '@/components/ui/select';
 import { useToast } from '@/hooks/use-toast';
-import { User, Save, Edit2 } from 'lucide-react';
+import { User, Save, Edit2, Camera, Trash2 } from 'lucide-react';
 
 const Profile = () => {
   const { user, updateUser } = useAuth();
@@ -67,6 +67,32 @@ const Profile = () => {
     }
   };
 
+  const handleAvatarChange = async (e: React.ChangeEvent<HTMLInputElement>) => {
+    const file = e.target.files?.[0];
+    e.target.value = '';
+    if (!file) return;
+    try {
+      const updated = await uploadAvatar(file);
+      updateUser({ avatar: updated.avatar });
+      toast({ title: 'Photo mise à jour' });
+    } catch (error) {
+      toast({
+        title: 'Erreur',
+        description: 'Image refusée (PNG, JPEG, GIF ou BMP, 5 Mo max)',
+        variant: 'destructive',
+      });
+    }
+  };
+
+  const handleAvatarRemove = async () => {
+    try {
+      await removeAvatar();
+      updateUser({ avatar: undefined });
+    } catch (error) {
+      toast({ title: 'Erreur', description: 'Impossible de retirer la photo', variant: 'destructive' });
+    }
+  };
+
   const currentYear = new Date().getFullYear();
   const years = Array.from({ length: 30 }, (_, i) => currentYear - i);
 
@@ -94,7 +120,7 @@ const Profile = () => {
             <div className="w-24 h-24 rounded-full bg-gradient-to-br from-primary to-accent flex items-center justify-center mb-4">
               {user?.avatar ? (
                 <img
-                  src={user.avatar}
+                  src={avatarUrl(user.avatar)}
                   alt="Avatar"
                   className="w-full h-full rounded-full object-cover"
                 />
@@ -104,6 +130,20 @@ const Profile = () => {
                 </span>
               )}
             </div>
+            <div className="flex gap-2 mb-4">
+              <Button variant="outline" size="sm" asChild>
+                <label className="cursor-pointer">
+                  <Camera className="w-4 h-4" />
+                  Changer la photo
+                  <input type="file" accept="image/png,image/jpeg,image/gif,image/bmp" className="hidden" onChange={handleAvatarChange} />
+                </label>
+              </Button>
+              {user?.avatar && (
+                <Button variant="ghost" size="sm" onClick={handleAvatarRemove}>
+                  <Trash2 className="w-4 h-4" />
+                </Button>
+              )}
+            </div>
             <h2 className="font-semibold text-xl">
               {user?.prenom} {user?.nom}
             </h2>
@@ -4,23 +4,24 @@
 
 import { useState, useEffect } from 'react';
 import { Link } from 'react-router-dom';
-import { getAllUsers, getEvents, User, Event } from '@/services/api';
+import { getAdminStats, searchUsers, AdminStats, User } from '@/services/api';
 import { Button } from '@/components/ui/button';
 import { useToast } from '@/hooks/use-toast';
 import { Users, Calendar, TrendingUp, ArrowRight, Shield } from 'lucide-react';
 
 const AdminDashboard = () => {
   const [users, setUsers] = useState<User[]>([]);
-  const [events, setEvents] = useState<Event[]>([]);
+  const [adminStats, setAdminStats] = useState<AdminStats | null>(null);
   const [isLoading, setIsLoading] = useState(true);
   const { toast } = useToast();
 
   useEffect(() => {
     const fetchData = async () => {
       try {
-        const [usersData, eventsData] = await Promise.all([getAllUsers(), getEvents()]);
-        setUsers(usersData);
-        setEvents(eventsData);
+        // Agrégats calculés côté serveur + première page de l'annuaire (plus récents d'abord)
+        const [statsData, latestUsers] = await Promise.all([getAdminStats(), searchUsers({ size: 5, fields: 'nom,prenom,email,createdAt' })]);
+        setAdminStats(statsData);
+        setUsers(latestUsers.content);
       } catch (error) {
         toast({
           title: 'Erreur',
@@ -35,26 +36,23 @@ const AdminDashboard = () => {
     fetchData();
   }, [toast]);
 
-  const upcomingEvents = events.filter((e) => new Date(e.date) >= new Date()).length;
-  const totalParticipations = events.reduce((acc, e) => acc + e.participants.length, 0);
-
   const stats = [
     {
       icon: Users,
       label: 'Membres inscrits',
-      value: users.length,
+      value: adminStats?.totalUsers ?? 0,
       color: 'bg-primary/10 text-primary',
     },
     {
       icon: Calendar,
       label: 'Événements à venir',
-      value: upcomingEvents,
+      value: adminStats?.upcomingEvents ?? 0,
       color: 'bg-accent/10 text-accent',
     },
     {
       icon: TrendingUp,
       label: 'Total participations',
-      value: totalParticipations,
+      value: adminStats?.participations ?? 0,
       color: 'bg-secondary text-secondary-foreground',
     },
   ];
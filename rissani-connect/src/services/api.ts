@@ -94,11 +94,72 @@ export interface Event {
   date: string;
   lieu: string;
   type: 'forum' | 'rencontre' | 'autre';
+  capacite?: number | null;
   participants: string[];
   createdBy: string;
   createdAt: string;
 }
 
+export interface ParticipationResult {
+  statut: 'inscrit' | 'en_attente';
+  position: number | null;
+}
+
+// Delta poussé par GET /api/events/stream
+export interface EventUpdate {
+  seq: number;
+  type: 'created' | 'deleted' | 'joined' | 'left';
+  eventId: string;
+  userId?: string;
+  event?: Event;
+}
+
+export interface CursorPage<T> {
+  content: T[];
+  nextCursor: string | null;
+}
+
+export interface AdminStats {
+  totalUsers: number;
+  usersByStatut: Record<string, number>;
+  usersBySexe: Record<string, number>;
+  usersByFiliereBac: Record<string, number>;
+  usersByAnneeBac: Record<string, number>;
+  upcomingEvents: number;
+  pastEvents: number;
+  upcomingEventsByType: Record<string, number>;
+  pastEventsByType: Record<string, number>;
+  participations: number;
+  waitlisted: number;
+  lastReconciledAt: string | null;
+}
+
+export interface UserSearchParams {
+  q?: string;
+  statut?: string;
+  filiereBac?: string;
+  anneeBac?: number;
+  specialite?: string;
+  cursor?: string;
+  size?: number;
+  fields?: string;
+}
+
+// Dates en heure locale sans fuseau (yyyy-MM-ddTHH:mm:ss), comme celles des événements
+export interface EventSearchParams {
+  from?: string;
+  to?: string;
+  type?: string;
+  cursor?: string;
+  size?: number;
+  fields?: string;
+}
+
+// Champs lus par UserCard et EventCard, passés en ?fields= : seules ces colonnes sont chargées
+// et sérialisées (l'id est toujours renvoyé)
+export const USER_CARD_FIELDS = 'nom,prenom,avatar,specialite,statut,filiereBac,anneeBac,numTelephone';
+export const EVENT_CARD_FIELDS = 'titre,description,date,lieu,type,participants';
+
 export interface LoginCredentials {
   email: string;
   password: string;
@@ -201,6 +262,48 @@ export const updateUserProfile = async (data: Partial<User>): Promise<User> => {
   }
 };
 
+/**
+ * Changer sa photo de profil (PNG, JPEG, GIF ou BMP, 5 Mo max)
+ * POST /api/users/me/avatar
+ */
+export const uploadAvatar = async (file: File): Promise<User> => {
+  try {
+    const formData = new FormData();
+    formData.append('file', file);
+    const response = await apiClient.post<User>('/users/me/avatar', formData, {
+      headers: { 'Content-Type': 'multipart/form-data' },
+    });
+    return response.data;
+  } catch (error) {
+    console.error('Erreur lors de l\'envoi de l\'avatar:', error);
+    throw error;
+  }
+};
+
+/**
+ * Retirer sa photo de profil
+ * DELETE /api/users/me/avatar
+ */
+export const removeAvatar = async (): Promise<User> => {
+  try {
+    const response = await apiClient.delete<User>('/users/me/avatar');
+    return response.data;
+  } catch (error) {
+    console.error('Erreur lors de la suppression de l\'avatar:', error);
+    throw error;
+  }
+};
+
+/**
+ * URL affichable d'un avatar : le serveur renvoie un chemin (/api/avatars/{clé}) relatif à l'API ;
+ * la vignette (128 px) suffit pour les cartes de l'annuaire. Une URL externe est rendue telle quelle.
+ */
+export const avatarUrl = (avatar: string | undefined, thumbnail = false): string | undefined => {
+  if (!avatar || !avatar.startsWith('/api/avatars/')) return avatar;
+  const path = thumbnail ? avatar.replace('/api/avatars/', '/api/avatars/thumb/') : avatar;
+  return API_BASE_URL.replace(/\/api\/?$/, '') + path;
+};
+
 /**
  * Récupérer un utilisateur par ID
  * GET /api/users/:id
@@ -215,6 +318,22 @@ export const getUserById = async (id: string): Promise<User> => {
   }
 };
 
+/**
+ * Résoudre une liste d'ids (participants d'un événement...) en un seul appel
+ * POST /api/users/batch : le corps accepte des listes trop longues pour une URL
+ * Ordre conservé ; les ids inconnus sont ignorés.
+ */
+export const getUsersByIds = async (ids: string[], fields?: string): Promise<User[]> => {
+  if (ids.length === 0) return [];
+  try {
+    const response = await apiClient.post<User[]>('/users/batch', ids, { params: { fields } });
+    return response.data;
+  } catch (error) {
+    console.error('Erreur lors de la récupération des utilisateurs:', error);
+    throw error;
+  }
+};
+
 /**
  * Récupérer tous les utilisateurs inscrits (public)
  * GET /api/users/all-users
@@ -229,6 +348,20 @@ export const getAllUsersPublic = async (): Promise<User[]> => {
   }
 };
 
+/**
+ * Rechercher dans l'annuaire (filtres + pagination par curseur)
+ * GET /api/users
+ */
+export const searchUsers = async (params: UserSearchParams): Promise<CursorPage<User>> => {
+  try {
+    const response = await apiClient.get<CursorPage<User>>('/users', { params });
+    return response.data;
+  } catch (error) {
+    console.error('Erreur lors de la recherche des utilisateurs:', error);
+    throw error;
+  }
+};
+
 // ============ ADMIN API ============
 
 /**
@@ -245,6 +378,20 @@ export const getAllUsers = async (): Promise<User[]> => {
   }
 };
 
+/**
+ * Statistiques du tableau de bord (compteurs côté serveur)
+ * GET /api/admin/stats
+ */
+export const getAdminStats = async (): Promise<AdminStats> => {
+  try {
+    const response = await apiClient.get<AdminStats>('/admin/stats');
+    return response.data;
+  } catch (error) {
+    console.error('Erreur lors de la récupération des statistiques:', error);
+    throw error;
+  }
+};
+
 /**
  * Récupérer un utilisateur par ID (admin)
  * GET /api/admin/users/:id
@@ -262,12 +409,12 @@ export const getAdminUserById = async (id: string): Promise<User> => {
 // ============ EVENTS API ============
 
 /**
- * Récupérer tous les événements
- * GET /api/events
+ * Récupérer tous les événements (fields : champs à renvoyer, tous par défaut)
+ * GET /api/events/all
  */
-export const getEvents = async (): Promise<Event[]> => {
+export const getEvents = async (fields?: string): Promise<Event[]> => {
   try {
-    const response = await apiClient.get<Event[]>('/events');
+    const response = await apiClient.get<Event[]>('/events/all', { params: { fields } });
     return response.data;
   } catch (error) {
     console.error('Erreur lors de la récupération des événements:', error);
@@ -275,6 +422,119 @@ export const getEvents = async (): Promise<Event[]> => {
   }
 };
 
+/**
+ * Rechercher des événements (type, intervalle [from, to), pagination par curseur, tri par date)
+ * GET /api/events
+ */
+export const searchEvents = async (params: EventSearchParams): Promise<CursorPage<Event>> => {
+  try {
+    const response = await apiClient.get<CursorPage<Event>>('/events', { params });
+    return response.data;
+  } catch (error) {
+    console.error('Erreur lors de la recherche des événements:', error);
+    throw error;
+  }
+};
+
+/**
+ * Formate une date en heure locale sans fuseau, format attendu par les filtres from/to
+ */
+export const toLocalDateTime = (date: Date): string => {
+  const pad = (n: number) => String(n).padStart(2, '0');
+  return `${date.getFullYear()}-${pad(date.getMonth() + 1)}-${pad(date.getDate())}T${pad(date.getHours())}:${pad(date.getMinutes())}:${pad(date.getSeconds())}`;
+};
+
+/**
+ * S'abonner aux mises à jour en direct des événements (Server-Sent Events)
+ * GET /api/events/stream
+ * EventSource ne permet pas d'envoyer le jeton : le flux est lu avec fetch. « ready » (connexion ou
+ * reconnexion) et « resync » (mises à jour perdues côté serveur) demandent de recharger la liste.
+ * Retourne la fonction de désabonnement.
+ */
+export const subscribeToEventUpdates = (
+  onUpdate: (update: EventUpdate) => void,
+  onResync: (reconnected: boolean) => void,
+): (() => void) => {
+  const controller = new AbortController();
+  let connections = 0;
+
+  const connect = async () => {
+    let delay = 1000;
+    while (!controller.signal.aborted) {
+      try {
+        const token = localStorage.getItem('authToken');
+        const response = await fetch(`${API_BASE_URL}/events/stream`, {
+          headers: token ? { Authorization: `Bearer ${token}` } : {},
+          signal: controller.signal,
+        });
+        if (!response.ok || !response.body) {
+          throw new Error(`HTTP ${response.status}`);
+        }
+        delay = 1000;
+        const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+        let buffer = '';
+        for (;;) {
+          const { value, done } = await reader.read();
+          if (done) break;
+          buffer += value;
+          let end: number;
+          while ((end = buffer.indexOf('\n\n')) >= 0) {
+            const frame = buffer.slice(0, end);
+            buffer = buffer.slice(end + 2);
+            let name = 'message';
+            let data = '';
+            for (const line of frame.split('\n')) {
+              if (line.startsWith('event:')) name = line.slice(6).trim();
+              else if (line.startsWith('data:')) data += line.slice(5);
+            }
+            if (name === 'ready') {
+              onResync(connections++ > 0);
+            } else if (name === 'resync') {
+              onResync(true);
+            } else if (data) {
+              onUpdate(JSON.parse(data) as EventUpdate);
+            }
+          }
+        }
+      } catch (error) {
+        if (controller.signal.aborted) return;
+      }
+      // Reconnexion avec attente croissante (max 30 s)
+      await new Promise((resolve) => setTimeout(resolve, delay));
+      delay = Math.min(delay * 2, 30000);
+    }
+  };
+
+  connect();
+  return () => controller.abort();
+};
+
+/**
+ * Applique un delta à une liste d'événements (idempotent : un delta déjà reflété ne change rien)
+ */
+export const applyEventUpdate = (events: Event[], update: EventUpdate): Event[] => {
+  switch (update.type) {
+    case 'created':
+      return update.event && !events.some((e) => e.id === update.eventId)
+        ? [...events, update.event].sort((a, b) => new Date(a.date).getTime() - new Date(b.date).getTime())
+        : events;
+    case 'deleted':
+      return events.filter((e) => e.id !== update.eventId);
+    case 'joined':
+      return events.map((e) =>
+        e.id === update.eventId && update.userId && !e.participants.includes(update.userId)
+          ? { ...e, participants: [...e.participants, update.userId] }
+          : e
+      );
+    case 'left':
+      return events.map((e) =>
+        e.id === update.eventId ? { ...e, participants: e.participants.filter((id) => id !== update.userId) } : e
+      );
+    default:
+      return events;
+  }
+};
+
 /**
  * Récupérer un événement par ID
  * GET /api/events/:id
@@ -293,9 +553,10 @@ export const getEventById = async (id: string): Promise<Event> => {
  * Participer à un événement
  * POST /api/events/:id/participate
  */
-export const participateToEvent = async (eventId: string): Promise<void> => {
+export const participateToEvent = async (eventId: string): Promise<ParticipationResult> => {
   try {
-    await apiClient.post(`/events/${eventId}/participate`);
+    const response = await apiClient.post<ParticipationResult>(`/events/${eventId}/participate`);
+    return response.data;
   } catch (error) {
     console.error('Erreur lors de la participation à l\'événement:', error);
     throw error;